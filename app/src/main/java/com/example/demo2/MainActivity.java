@@ -8,6 +8,7 @@ import androidx.viewpager2.widget.ViewPager2;
 import com.example.demo2.adapter.CategoryPagerAdapter;
 import com.example.demo2.fragment.NewsDetailFragment;
 import com.example.demo2.fragment.NewsListFragment;
+import com.example.demo2.repository.NewsRepository;
 import com.google.android.material.tabs.TabLayout;
 import com.google.android.material.tabs.TabLayoutMediator;
 import java.util.ArrayList;
@@ -42,6 +43,10 @@ public class MainActivity extends AppCompatActivity implements NewsListFragment.
         // 初始化
         initViews();
         initCategories();
+        if (savedInstanceState == null) {
+            // 首次启动时预热（配置变更重建时Fragment已有数据）
+            warmUpCategories();
+        }
         setupSystemUI();
         setupViewPager();
         
@@ -109,6 +114,14 @@ public class MainActivity extends AppCompatActivity implements NewsListFragment.
         Log.d(TAG, "📑 初始化 " + categories.size() + " 个分类");
     }
     
+    /**
+     * 预热所有分类的第一页
+     * 一次请求获取全部分类的首屏数据，各分类Fragment直接使用，不再各自请求
+     */
+    private void warmUpCategories() {
+        new NewsRepository(this).warmUpHomeSnapshot(NewsListFragment.INITIAL_LOAD_SIZE);
+    }
+    
     /**
      * 设置ViewPager
      */
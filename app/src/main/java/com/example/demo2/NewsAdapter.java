@@ -530,6 +530,30 @@ public class NewsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         notifyItemRangeInserted(startPosition, newData.size());
     }
 
+    /**
+     * 替换指定位置的一段数据（缓存页被网络数据更新时使用）
+     * 
+     * @param start 起始位置
+     * @param oldCount 被替换的条数
+     * @param newData 新数据
+     */
+    public void replaceData(int start, int oldCount, List<NewsItem> newData) {
+        start = Math.max(0, Math.min(start, newsList.size()));
+        int end = Math.min(start + oldCount, newsList.size());
+        int removed = end - start;
+        
+        newsList.subList(start, end).clear();
+        newsList.addAll(start, newData);
+        
+        int changed = Math.min(removed, newData.size());
+        notifyItemRangeChanged(start, changed);
+        if (newData.size() > removed) {
+            notifyItemRangeInserted(start + removed, newData.size() - removed);
+        } else if (removed > newData.size()) {
+            notifyItemRangeRemoved(start + newData.size(), removed - newData.size());
+        }
+    }
+
     /**
      * 刷新数据
      */
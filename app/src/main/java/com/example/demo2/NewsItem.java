@@ -10,6 +10,7 @@ import java.io.Serializable;
  * 这是一个 POJO (Plain Old Java Object) 类，用于存储和传递数据
  * 
  * 包含的信息：
+ * - 新闻ID（服务端主键）
  * - 标题
  * - 内容摘要
  * - 图片URL（支持网络图片）
@@ -17,6 +18,10 @@ import java.io.Serializable;
  * - 阅读数
  */
 public class NewsItem implements Serializable {
+    // 服务端新闻ID（旧版服务端不返回时为 null）
+    @SerializedName("id")
+    private Long id;
+    
     // 新闻标题
     @SerializedName("title")
     private String title;
@@ -108,6 +113,10 @@ public class NewsItem implements Serializable {
 
     // Getter 方法：用于获取私有属性的值
     
+    public Long getId() {
+        return id;
+    }
+    
     public String getTitle() {
         return title;
     }
@@ -178,6 +187,10 @@ public class NewsItem implements Serializable {
 
     // Setter 方法：用于修改私有属性的值（可选）
     
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
     public void setTitle(String title) {
         this.title = title;
     }
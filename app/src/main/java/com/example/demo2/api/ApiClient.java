@@ -1,10 +1,13 @@
 package com.example.demo2.api;
 
+import android.content.Context;
 import android.util.Log;
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,6 +31,12 @@ public class ApiClient {
     // API服务接口实例（单例）
     private static NewsApiService newsApiService = null;
     
+    // HTTP 缓存大小：10MB
+    private static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024;
+    
+    // HTTP 缓存目录（为 null 时不启用缓存）
+    private static File httpCacheDir = null;
+    
     /**
      * 获取Retrofit实例（懒加载单例）
      * 
@@ -45,7 +54,7 @@ public class ApiClient {
             loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
             
             // 创建OkHttpClient，配置超时和拦截器
-            OkHttpClient client = new OkHttpClient.Builder()
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
                     .connectTimeout(10, TimeUnit.SECONDS)      // 连接超时
                     .readTimeout(30, TimeUnit.SECONDS)         // 读取超时
                     .writeTimeout(30, TimeUnit.SECONDS)        // 写入超时
@@ -62,8 +71,15 @@ public class ApiClient {
                         
                         Log.d(TAG, "🔗 请求URL: " + request.url());
                         return chain.proceed(request);
-                    })
-                    .build();
+                    });
+            
+            // HTTP 缓存：保存响应的 ETag，再次请求时自动带上 If-None-Match，
+            // 服务端返回 304 时直接使用缓存的响应体，不重新下载
+            if (httpCacheDir != null) {
+                builder.cache(new Cache(httpCacheDir, HTTP_CACHE_SIZE));
+                Log.d(TAG, "  - HTTP缓存: " + httpCacheDir);
+            }
+            OkHttpClient client = builder.build();
             
             // 创建Retrofit实例
             retrofit = new Retrofit.Builder()
@@ -92,6 +108,21 @@ public class ApiClient {
         return newsApiService;
     }
     
+    /**
+     * 获取新闻API服务接口，并启用 HTTP 缓存
+     * 
+     * 缓存目录需要 Context，只在第一次创建 Retrofit 实例之前设置有效
+     * 
+     * @param context 上下文
+     * @return NewsApiService实例
+     */
+    public static synchronized NewsApiService getNewsApiService(Context context) {
+        if (retrofit == null && httpCacheDir == null) {
+            httpCacheDir = new File(context.getApplicationContext().getCacheDir(), "http");
+        }
+        return getNewsApiService();
+    }
+    
     /**
      * 获取基础URL（供其他组件使用）
      * 
@@ -3,6 +3,7 @@ package com.example.demo2.api;
 import com.example.demo2.NewsItem;
 
 import java.util.List;
+import java.util.Map;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
@@ -43,4 +44,36 @@ public interface NewsApiService {
         @Query("offset") Integer offset,
         @Query("limit") int limit
     );
+    
+    /**
+     * 获取新闻列表分页（v2 响应格式）
+     * 
+     * 返回 {items, hasMore, nextCursor, serverTimeMs}，旧版服务端忽略 v=2 参数、
+     * 仍返回新闻数组时，NewsPage 也能正确解析。
+     * 有游标时按游标分页，否则按 offset 分页；值为 null 的参数 Retrofit 不会拼接。
+     * 
+     * @param category 分类代码（null 表示全部分类）
+     * @param offset 偏移量
+     * @param cursor 上一页返回的游标（服务端生成，客户端原样传回）
+     * @param limit 每页数量
+     * @return 返回分页结果的 Call 对象
+     */
+    @GET("api/news?v=2")
+    Call<NewsPage> getNewsPage(
+        @Query("category") String category,
+        @Query("offset") Integer offset,
+        @Query("cursor") String cursor,
+        @Query("limit") int limit
+    );
+    
+    /**
+     * 获取首页快照：一次请求返回所有分类的第一页
+     * 
+     * 启动时用一次请求预热全部分类标签，不需要每个 Fragment 各自请求第一页
+     * 
+     * @param limit 每个分类返回的数量
+     * @return key 为分类代码，value 为该分类第一页的分页结果
+     */
+    @GET("api/news/home")
+    Call<Map<String, NewsPage>> getHomeSnapshot(@Query("limit") int limit);
 }
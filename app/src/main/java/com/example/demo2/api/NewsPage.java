@@ -0,0 +1,146 @@
+package com.example.demo2.api;
+
+import com.example.demo2.NewsItem;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NewsPage - 新闻列表分页响应（v2）
+ *
+ * 服务端返回格式：{items, hasMore, nextCursor, serverTimeMs}
+ * 服务端多查询一条（limit + 1）来准确判断 hasMore，客户端不需要再用
+ * "返回数量是否等于请求数量" 来猜测，分类末尾也不会多发一次空请求。
+ *
+ * 兼容旧版服务端：如果返回的是新闻数组，items 为该数组，hasMore 为 null（未知）
+ */
+@JsonAdapter(NewsPage.Adapter.class)
+public class NewsPage {
+
+    // 本页新闻
+    private List<NewsItem> items = new ArrayList<>();
+
+    // 是否还有更多数据（null 表示服务端未提供）
+    private Boolean hasMore;
+
+    // 下一页游标（null 表示服务端未提供）
+    private String nextCursor;
+
+    // 服务端生成响应的时间（毫秒）
+    private long serverTimeMs;
+
+    public NewsPage() {
+    }
+
+    public NewsPage(List<NewsItem> items) {
+        this.items = items != null ? items : new ArrayList<>();
+    }
+
+    public List<NewsItem> getItems() {
+        return items;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public long getServerTimeMs() {
+        return serverTimeMs;
+    }
+
+    /**
+     * 解析分页响应，同时兼容 v2 对象格式和旧版数组格式
+     *
+     * 边读边映射到 NewsItem，不先构建 JsonElement 树（少一次完整遍历）
+     */
+    public static class Adapter implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != NewsPage.class) {
+                return null;
+            }
+            TypeAdapter<List<NewsItem>> itemsAdapter = gson.getAdapter(new TypeToken<List<NewsItem>>() {});
+            return (TypeAdapter<T>) new PageAdapter(itemsAdapter).nullSafe();
+        }
+    }
+
+    private static final class PageAdapter extends TypeAdapter<NewsPage> {
+        private final TypeAdapter<List<NewsItem>> itemsAdapter;
+
+        PageAdapter(TypeAdapter<List<NewsItem>> itemsAdapter) {
+            this.itemsAdapter = itemsAdapter;
+        }
+
+        @Override
+        public NewsPage read(JsonReader in) throws IOException {
+            JsonToken token = in.peek();
+            if (token == JsonToken.BEGIN_ARRAY) {
+                // 旧版服务端：直接返回新闻数组
+                return new NewsPage(itemsAdapter.read(in));
+            }
+            if (token != JsonToken.BEGIN_OBJECT) {
+                throw new JsonParseException("无法解析新闻列表响应: " + token + " at " + in.getPath());
+            }
+
+            NewsPage page = new NewsPage();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "items":
+                        if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                            List<NewsItem> items = itemsAdapter.read(in);
+                            page.items = items != null ? items : new ArrayList<>();
+                        } else {
+                            in.skipValue();
+                        }
+                        break;
+                    case "hasMore":
+                        page.hasMore = in.nextBoolean();
+                        break;
+                    case "nextCursor":
+                        page.nextCursor = in.nextString();
+                        break;
+                    case "serverTimeMs":
+                        page.serverTimeMs = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return page;
+        }
+
+        @Override
+        public void write(JsonWriter out, NewsPage page) throws IOException {
+            out.beginObject();
+            out.name("items");
+            itemsAdapter.write(out, page.items);
+            out.name("hasMore").value(page.hasMore);
+            out.name("nextCursor").value(page.nextCursor);
+            out.name("serverTimeMs").value(page.serverTimeMs);
+            out.endObject();
+        }
+    }
+}
@@ -4,9 +4,12 @@ package com.example.demo2.database;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 /**
  * AppDatabase - 应用数据库类
@@ -29,7 +32,7 @@ import androidx.room.RoomDatabase;
  */
 @Database(
     entities = {CachedNews.class},  // 数据库包含的表
-    version = 1,                     // 数据库版本号
+    version = 4,                     // 数据库版本号（2：按分类和位置缓存列表页，3：服务端新闻ID，4：多图/视频字段）
     exportSchema = false             // 不导出架构文件（简化配置）
 )
 public abstract class AppDatabase extends RoomDatabase {
@@ -114,9 +117,9 @@ public abstract class AppDatabase extends RoomDatabase {
                         AppDatabase.class,                 // 数据库类
                         DATABASE_NAME                      // 数据库文件名
                     )
+                    .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4)  // 数据库迁移策略
                     // 可选配置：
                     // .fallbackToDestructiveMigration()  // 升级失败时删除旧数据库（开发阶段使用）
-                    // .addMigrations(MIGRATION_1_2)      // 添加数据库迁移策略
                     // .allowMainThreadQueries()          // 允许主线程查询（不推荐，仅用于测试）
                     .build();
                 }
@@ -146,29 +149,62 @@ public abstract class AppDatabase extends RoomDatabase {
         }
     }
     
-    // ==================== 数据库迁移（可选）====================
+    // ==================== 数据库迁移 ====================
     
     /**
-     * 数据库迁移示例
+     * 数据库迁移：version 1 → 2
      * 
-     * 当数据库版本升级时（如从 version 1 升级到 version 2），
-     * 需要定义迁移策略来保留旧数据
-     * 
-     * 示例：添加新列
+     * cached_news 添加 position 列和 (category, position) 索引，按分类和 offset 缓存列表页
+     * 旧版缓存没有位置信息，无法对应到列表页，直接清空（下次打开分类时重新缓存）
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("DELETE FROM cached_news");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN position INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_cached_news_category_position "
+                    + "ON cached_news (category, position)");
+        }
+    };
+    
+    /**
+     * 数据库迁移：version 2 → 3
      * 
-     * static final Migration MIGRATION_1_2 = new Migration(1, 2) {
-     *     @Override
-     *     public void migrate(@NonNull SupportSQLiteDatabase database) {
-     *         // 在 cached_news 表中添加新列 category
-     *         database.execSQL("ALTER TABLE cached_news ADD COLUMN category TEXT");
-     *     }
-     * };
+     * cached_news 添加 newsId 列和唯一索引，同一条新闻只保存一行
+     * 旧缓存没有新闻ID，无法去重，直接清空
+     * （version 1 的数据库会依次执行 1 → 2 → 3）
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("DELETE FROM cached_news");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN newsId INTEGER");
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS index_cached_news_newsId "
+                    + "ON cached_news (newsId)");
+        }
+    };
+    
+    /**
+     * 数据库迁移：version 3 → 4
      * 
-     * 使用方法：
-     * INSTANCE = Room.databaseBuilder(...)
-     *     .addMigrations(MIGRATION_1_2)
-     *     .build();
+     * cached_news 添加多图、视频和分类名称字段，缓存的新闻和网络数据显示一致；
+     * 添加 (category, cacheTime) 索引，按分类读取缓存时不需要排序
+     * 旧缓存保留（按单图显示），列表页后台更新时会被替换
      */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN imageUrl2 TEXT");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN imageUrl3 TEXT");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN mediaType TEXT");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN videoUrl TEXT");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN videoDuration INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN videoCoverUrl TEXT");
+            database.execSQL("ALTER TABLE cached_news ADD COLUMN categoryName TEXT");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_cached_news_category_cacheTime "
+                    + "ON cached_news (category, cacheTime)");
+        }
+    };
 }
 
 /**
@@ -2,8 +2,10 @@
 // 作用：定义本地缓存表的结构，用于存储从服务器获取的新闻数据
 package com.example.demo2.database;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -19,15 +21,35 @@ import androidx.room.PrimaryKey;
  * │ 列名        │ 类型      │ 说明                 │
  * ├────────────┼──────────┼─────────────────────┤
  * │ id         │ int      │ 主键，自动生成        │
+ * │ newsId     │ Long     │ 服务端新闻ID（唯一）  │
  * │ title      │ String   │ 新闻标题             │
  * │ summary    │ String   │ 新闻摘要             │
  * │ imageUrl   │ String   │ 图片URL              │
+ * │ imageUrl2/3│ String   │ 第二、三张图片URL     │
+ * │ mediaType  │ String   │ 媒体类型             │
+ * │ videoUrl   │ String   │ 视频URL              │
+ * │ videoDuration│ int    │ 视频时长（秒）        │
+ * │ videoCoverUrl│ String │ 视频封面URL          │
+ * │ categoryName│ String  │ 分类名称             │
  * │ publishTime│ String   │ 发布时间             │
  * │ readCount  │ String   │ 阅读数               │
- * │ cacheTime  │ long     │ 缓存时间戳（用于过期）│
+ * │ cacheTime  │ long     │ 最近使用时间（过期/LRU）│
+ * │ category   │ String   │ 新闻分类             │
+ * │ position   │ int      │ 在分类列表中的位置    │
  * └────────────┴──────────┴─────────────────────┘
+ * 
+ * 索引 (category, position)：按分类和 offset 读取列表页
+ * 索引 (category, cacheTime)：压缩时按分类找出最久未使用的新闻（LRU）
+ * 唯一索引 newsId：同一条新闻只保存一行，REPLACE 插入时替换旧行
  */
-@Entity(tableName = "cached_news")
+@Entity(
+    tableName = "cached_news",
+    indices = {
+        @Index(value = {"category", "position"}),
+        @Index(value = {"category", "cacheTime"}),
+        @Index(value = {"newsId"}, unique = true)
+    }
+)
 public class CachedNews {
     
     /**
@@ -39,6 +61,14 @@ public class CachedNews {
     @PrimaryKey(autoGenerate = true)
     private int id;
     
+    /**
+     * 服务端新闻ID
+     * 
+     * 有唯一索引：同一条新闻再次缓存时替换旧行，不会重复保存
+     * null 表示旧版服务端没有返回ID（SQLite 唯一索引允许多个 null）
+     */
+    private Long newsId;
+    
     /**
      * 新闻标题
      * 例如："科技巨头发布新产品"
@@ -57,6 +87,38 @@ public class CachedNews {
      */
     private String imageUrl;
     
+    /**
+     * 第二张图片 URL（多图模式）
+     */
+    private String imageUrl2;
+    
+    /**
+     * 第三张图片 URL（多图模式）
+     */
+    private String imageUrl3;
+    
+    /**
+     * 媒体类型：single_image（单图）、multi_image（多图）、video（视频）
+     * null 按单图显示
+     */
+    private String mediaType;
+    
+    /**
+     * 视频 URL
+     */
+    private String videoUrl;
+    
+    /**
+     * 视频时长（秒）
+     */
+    @ColumnInfo(defaultValue = "0")
+    private int videoDuration;
+    
+    /**
+     * 视频封面 URL
+     */
+    private String videoCoverUrl;
+    
     /**
      * 发布时间
      * 例如："2025-11-23 12:00:00"
@@ -72,7 +134,8 @@ public class CachedNews {
     /**
      * 缓存时间戳（毫秒）
      * 
-     * 用于判断缓存是否过期
+     * 用于判断缓存是否过期；读取缓存时会更新为当前时间（最近使用时间），
+     * 定期压缩缓存时按它删除最久未使用的新闻（LRU）
      * 例如：1700712000000（对应 2025-11-23 12:00:00）
      * 
      * 获取当前时间戳：System.currentTimeMillis()
@@ -87,6 +150,20 @@ public class CachedNews {
      */
     private String category;
     
+    /**
+     * 分类名称（服务端返回的显示名称）
+     * 例如："科技"
+     */
+    private String categoryName;
+    
+    /**
+     * 在分类列表中的位置（从 0 开始，即该新闻所在页的 offset + 页内序号）
+     * 
+     * 列表页按 分类 + 位置 保存，再次打开分类时直接从本地读取对应的页
+     */
+    @ColumnInfo(defaultValue = "0")
+    private int position;
+    
     // ==================== 构造方法 ====================
     
     /**
@@ -150,6 +227,14 @@ public class CachedNews {
         this.id = id;
     }
     
+    public Long getNewsId() {
+        return newsId;
+    }
+    
+    public void setNewsId(Long newsId) {
+        this.newsId = newsId;
+    }
+    
     public String getTitle() {
         return title;
     }
@@ -174,6 +259,54 @@ public class CachedNews {
         this.imageUrl = imageUrl;
     }
     
+    public String getImageUrl2() {
+        return imageUrl2;
+    }
+    
+    public void setImageUrl2(String imageUrl2) {
+        this.imageUrl2 = imageUrl2;
+    }
+    
+    public String getImageUrl3() {
+        return imageUrl3;
+    }
+    
+    public void setImageUrl3(String imageUrl3) {
+        this.imageUrl3 = imageUrl3;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public void setMediaType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+    
+    public void setVideoUrl(String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+    
+    public int getVideoDuration() {
+        return videoDuration;
+    }
+    
+    public void setVideoDuration(int videoDuration) {
+        this.videoDuration = videoDuration;
+    }
+    
+    public String getVideoCoverUrl() {
+        return videoCoverUrl;
+    }
+    
+    public void setVideoCoverUrl(String videoCoverUrl) {
+        this.videoCoverUrl = videoCoverUrl;
+    }
+    
     public String getPublishTime() {
         return publishTime;
     }
@@ -206,6 +339,22 @@ public class CachedNews {
         this.category = category;
     }
     
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+    
+    public int getPosition() {
+        return position;
+    }
+    
+    public void setPosition(int position) {
+        this.position = position;
+    }
+    
     // ==================== 辅助方法 ====================
     
     /**
@@ -229,13 +378,16 @@ public class CachedNews {
     public String toString() {
         return "CachedNews{" +
                 "id=" + id +
+                ", newsId=" + newsId +
                 ", title='" + title + '\'' +
                 ", summary='" + summary + '\'' +
                 ", imageUrl='" + imageUrl + '\'' +
+                ", mediaType='" + mediaType + '\'' +
                 ", publishTime='" + publishTime + '\'' +
                 ", readCount='" + readCount + '\'' +
                 ", cacheTime=" + cacheTime +
                 ", category='" + category + '\'' +
+                ", position=" + position +
                 '}';
     }
 }
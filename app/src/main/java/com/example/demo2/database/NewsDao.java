@@ -6,8 +6,12 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * NewsDao - 新闻数据访问对象
@@ -38,16 +42,18 @@ public interface NewsDao {
      * 
      * SQL 解释：
      * - SELECT * FROM cached_news：查询 cached_news 表的所有列
-     * - ORDER BY cacheTime DESC：按 cacheTime 降序排列（最新的在前）
+     * - ORDER BY publishTime DESC, newsId DESC：按发布时间降序排列（最新的在前，与服务端列表顺序相同）
      * - LIMIT :limit：限制返回的行数
      * 
+     * 不按 cacheTime 排序：读取缓存会更新 cacheTime（LRU），按它排序时列表顺序会随浏览变化
+     * 
      * @param limit 最多返回多少条数据
      * @return 新闻列表
      * 
      * 使用示例：
      * List<CachedNews> newsList = newsDao.getAllCachedNews(10);
      */
-    @Query("SELECT * FROM cached_news ORDER BY cacheTime DESC LIMIT :limit")
+    @Query("SELECT * FROM cached_news ORDER BY publishTime DESC, newsId DESC LIMIT :limit")
     List<CachedNews> getAllCachedNews(int limit);
     
     /**
@@ -59,9 +65,11 @@ public interface NewsDao {
      * SQL 解释：
      * - SELECT * FROM cached_news：查询 cached_news 表的所有列
      * - WHERE category = :category：筛选指定分类的新闻
-     * - ORDER BY cacheTime DESC：按 cacheTime 降序排列（最新的在前）
+     * - ORDER BY publishTime DESC, newsId DESC：按发布时间降序排列（最新的在前）
      * - LIMIT :limit：限制返回的行数
      * 
+     * 每个分类最多缓存 200 条，排序开销很小；不按 cacheTime 排序，列表顺序不随浏览变化
+     * 
      * @param category 分类代码（tech, economy, sports 等）
      * @param limit 最多返回多少条数据
      * @return 指定分类的新闻列表
@@ -69,9 +77,35 @@ public interface NewsDao {
      * 使用示例：
      * List<CachedNews> techNews = newsDao.getCachedNewsByCategory("tech", 10);
      */
-    @Query("SELECT * FROM cached_news WHERE category = :category ORDER BY cacheTime DESC LIMIT :limit")
+    @Query("SELECT * FROM cached_news WHERE category = :category ORDER BY publishTime DESC, newsId DESC LIMIT :limit")
     List<CachedNews> getCachedNewsByCategory(String category, int limit);
     
+    /**
+     * 查询分类列表的一页缓存（按位置读取）
+     * 
+     * 使用 (category, position) 索引，只读取这一页的行
+     * 
+     * @param category 分类代码
+     * @param offset 页的起始位置
+     * @param limit 每页数量
+     * @return 这一页的缓存新闻（按位置排序），没有缓存时返回空列表
+     * 
+     * 使用示例：
+     * List<CachedNews> page = newsDao.getCachedPage("tech", 0, 4);
+     */
+    @Query("SELECT * FROM cached_news WHERE category = :category " +
+           "AND position >= :offset AND position < :offset + :limit ORDER BY position")
+    List<CachedNews> getCachedPage(String category, int offset, int limit);
+    
+    /**
+     * 按服务端新闻ID查询已缓存的新闻（upsertNews 保留原来的分类和位置）
+     * 
+     * @param newsIds 服务端新闻ID（一次写入的一批，不超过 SQLite 的参数上限 999）
+     * @return 其中已缓存的新闻
+     */
+    @Query("SELECT * FROM cached_news WHERE newsId IN (:newsIds)")
+    List<CachedNews> getCachedNewsByNewsIds(List<Long> newsIds);
+    
     /**
      * 根据 ID 查询单条新闻
      * 
@@ -92,7 +126,7 @@ public interface NewsDao {
      * 使用示例：
      * List<CachedNews> allNews = newsDao.getAllNews();
      */
-    @Query("SELECT * FROM cached_news ORDER BY cacheTime DESC")
+    @Query("SELECT * FROM cached_news ORDER BY publishTime DESC, newsId DESC")
     List<CachedNews> getAllNews();
     
     /**
@@ -106,6 +140,14 @@ public interface NewsDao {
     @Query("SELECT COUNT(*) FROM cached_news")
     int getNewsCount();
     
+    /**
+     * 查询缓存中的所有分类
+     * 
+     * @return 分类列表（包含 null，表示不属于任何分类的缓存）
+     */
+    @Query("SELECT DISTINCT category FROM cached_news")
+    List<String> getCachedCategories();
+    
     // ==================== 插入操作 ====================
     
     /**
@@ -118,7 +160,7 @@ public interface NewsDao {
      * 
      * 为什么使用 REPLACE？
      * - 确保缓存数据是最新的
-     * - 避免重复数据
+     * - 避免重复数据：newsId 有唯一索引，同一条新闻再次插入时替换旧行
      * 
      * @param newsList 要插入的新闻列表
      * 
@@ -143,6 +185,65 @@ public interface NewsDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     long insertSingleNews(CachedNews news);
     
+    /**
+     * 写入新闻，已缓存的新闻原地更新
+     * 
+     * insertNews 的 REPLACE 会删除旧行再插入：不带分类的新闻（如"全部"列表）会把已缓存新闻的
+     * 分类和位置清空，分类列表的缓存页因此缺行。这里先查出已缓存的行：
+     * - 沿用原来的主键，REPLACE 后仍是同一行
+     * - 新数据没有分类时保留原来的分类和位置，只更新新闻内容
+     * 查询和写入在同一个事务中完成
+     * 
+     * @param newsList 要写入的新闻（会被修改：设置已缓存行的主键、分类和位置）
+     * 
+     * 使用示例：
+     * newsDao.upsertNews(cachedNewsList);
+     */
+    @Transaction
+    default void upsertNews(List<CachedNews> newsList) {
+        List<Long> newsIds = new ArrayList<>();
+        for (CachedNews news : newsList) {
+            if (news.getNewsId() != null) {
+                newsIds.add(news.getNewsId());
+            }
+        }
+        Map<Long, CachedNews> cached = new HashMap<>();
+        if (!newsIds.isEmpty()) {
+            for (CachedNews news : getCachedNewsByNewsIds(newsIds)) {
+                cached.put(news.getNewsId(), news);
+            }
+        }
+        for (CachedNews news : newsList) {
+            CachedNews old = news.getNewsId() == null ? null : cached.get(news.getNewsId());
+            if (old == null) {
+                continue;
+            }
+            news.setId(old.getId());
+            if (news.getCategory() == null) {
+                news.setCategory(old.getCategory());
+                news.setPosition(old.getPosition());
+            }
+        }
+        insertNews(newsList);
+    }
+    
+    /**
+     * 替换分类列表的一页缓存
+     * 
+     * 先删除这一页原来的行，再写入新数据，在同一个事务中完成
+     * （新的一页条数变少时，不会留下旧数据）
+     * 
+     * @param category 分类代码
+     * @param offset 页的起始位置
+     * @param limit 每页数量
+     * @param newsList 新的一页数据（position 已设置）
+     */
+    @Transaction
+    default void replaceCachedPage(String category, int offset, int limit, List<CachedNews> newsList) {
+        deleteCachedPage(category, offset, limit);
+        insertNews(newsList);
+    }
+    
     // ==================== 删除操作 ====================
     
     /**
@@ -178,6 +279,35 @@ public interface NewsDao {
     @Query("DELETE FROM cached_news WHERE cacheTime < :expireTime")
     int deleteExpiredCache(long expireTime);
     
+    /**
+     * 限制分类的缓存条数
+     * 
+     * 按 cacheTime（最近使用时间）保留最新的 maxCount 条，删除其余的（LRU）
+     * 使用 (category, cacheTime) 索引
+     * 
+     * @param category 分类代码（null 表示不属于任何分类的缓存）
+     * @param maxCount 最多保留的条数
+     * @return 删除的行数
+     * 
+     * 使用示例：
+     * int deleted = newsDao.trimCategory("tech", 200);
+     */
+    @Query("DELETE FROM cached_news WHERE category IS :category AND id NOT IN " +
+           "(SELECT id FROM cached_news WHERE category IS :category ORDER BY cacheTime DESC LIMIT :maxCount)")
+    int trimCategory(String category, int maxCount);
+    
+    /**
+     * 删除分类列表的一页缓存
+     * 
+     * @param category 分类代码
+     * @param offset 页的起始位置
+     * @param limit 每页数量
+     * @return 删除的行数
+     */
+    @Query("DELETE FROM cached_news WHERE category = :category " +
+           "AND position >= :offset AND position < :offset + :limit")
+    int deleteCachedPage(String category, int offset, int limit);
+    
     /**
      * 根据 ID 删除新闻
      * 
@@ -208,6 +338,19 @@ public interface NewsDao {
      */
     @Query("UPDATE cached_news SET cacheTime = :newCacheTime WHERE id = :id")
     int updateCacheTime(int id, long newCacheTime);
+    
+    /**
+     * 批量更新新闻的缓存时间
+     * 
+     * 使用场景：
+     * - 读取缓存后记录使用时间（LRU，最近使用的最后被删除）
+     * 
+     * @param ids 新闻ID列表
+     * @param newCacheTime 新的缓存时间戳
+     * @return 更新的行数
+     */
+    @Query("UPDATE cached_news SET cacheTime = :newCacheTime WHERE id IN (:ids)")
+    int updateCacheTime(List<Integer> ids, long newCacheTime);
 }
 
 /**
@@ -18,6 +18,7 @@ import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import com.example.demo2.R;
 import com.example.demo2.NewsAdapter;
 import com.example.demo2.NewsItem;
+import com.example.demo2.api.NewsPage;
 import com.example.demo2.repository.NewsRepository;
 import java.util.ArrayList;
 import java.util.List;
@@ -50,11 +51,13 @@ public class NewsListFragment extends Fragment {
     
     // 分页相关
     private int currentOffset = 0;
-    private static final int INITIAL_LOAD_SIZE = 4;  // 初次加载4条
+    private String nextCursor = null;  // 服务端返回的下一页游标（为null时按offset分页）
+    public static final int INITIAL_LOAD_SIZE = 4;  // 初次加载4条
     private static final int MORE_LOAD_SIZE = 2;     // 后续每次加载2条
     private boolean isLoading = false;
     private boolean hasMoreData = true;
     private boolean isFirstLoad = true;  // 标记是否首次加载
+    private int refreshGeneration = 0;   // 下拉刷新次数（刷新前发出的请求，其缓存更新不再应用）
     
     // 自动加载相关（恢复原有逻辑）
     private Handler autoLoadHandler = new Handler(Looper.getMainLooper());
@@ -129,6 +132,7 @@ public class NewsListFragment extends Fragment {
         if (savedInstanceState != null) {
             scrollPosition = savedInstanceState.getInt("scroll_position", 0);
             currentOffset = savedInstanceState.getInt("current_offset", 0);
+            nextCursor = savedInstanceState.getString("next_cursor");
             recyclerView.scrollToPosition(scrollPosition);
         }
         
@@ -151,6 +155,7 @@ public class NewsListFragment extends Fragment {
             scrollPosition = layoutManager.findFirstVisibleItemPosition();
             outState.putInt("scroll_position", scrollPosition);
             outState.putInt("current_offset", currentOffset);
+            outState.putString("next_cursor", nextCursor);
         }
     }
     
@@ -284,10 +289,16 @@ public class NewsListFragment extends Fragment {
         // 如果是刷新，重置偏移量和首次加载标记
         if (isRefresh) {
             currentOffset = 0;
+            nextCursor = null;
             hasMoreData = true;
             isFirstLoad = true;  // 重置为首次加载
+            refreshGeneration++;
         }
         
+        // 本次加载的页在列表中的起始位置（缓存页被更新时按这个位置替换）
+        final int pageOffset = currentOffset;
+        final int generation = refreshGeneration;
+        
         // 决定本次加载的数量
         int loadSize = isFirstLoad ? INITIAL_LOAD_SIZE : MORE_LOAD_SIZE;
         
@@ -297,54 +308,32 @@ public class NewsListFragment extends Fragment {
             // 首次加载，可以显示一个全屏加载动画
         }
         
-        // 调用Repository加载数据
-        newsRepository.getNewsList(categoryCode, currentOffset, loadSize, new NewsRepository.NewsCallback() {
+        // 调用Repository加载数据（下拉刷新时不使用本地缓存）
+        newsRepository.getNewsList(categoryCode, currentOffset, nextCursor, loadSize, !isRefresh, new NewsRepository.NewsCallback() {
+            // 第一次回调返回的条数（缓存页被更新时替换这么多条）
+            private int deliveredCount = 0;
+            
+            @Override
+            public void onSuccess(NewsPage page) {
+                deliveredCount = page.getItems().size();
+                // 记录下一页游标，下次加载更多时使用
+                nextCursor = page.getNextCursor();
+                onNewsLoaded(page.getItems(), page.getHasMore(), isRefresh);
+            }
+            
+            @Override
+            public void onPageChanged(NewsPage page) {
+                onCachedPageChanged(pageOffset, deliveredCount, loadSize, generation, page);
+            }
+            
+            @Override
+            public void onPageMetadata(NewsPage page) {
+                onCachedPageConfirmed(pageOffset, deliveredCount, loadSize, generation, page);
+            }
+            
             @Override
             public void onSuccess(List<NewsItem> news) {
-                new Handler(Looper.getMainLooper()).post(() -> {
-                    isLoading = false;
-                    isAutoLoadTriggered = false;  // 重置自动加载标志
-                    swipeRefreshLayout.setRefreshing(false);
-                    
-                    if (isRefresh) {
-                        // 只需要调用adapter.clearData，它会自动清空newsList
-                        adapter.clearData();
-                    }
-                    
-                    if (news != null && !news.isEmpty()) {
-                        // 只需要调用adapter.addData，它会自动添加到newsList
-                        adapter.addData(news);
-                        currentOffset += news.size();
-                        
-                        // 判断是否还有更多数据
-                        // 根据当前加载类型判断：首次加载少于4条，或后续加载少于2条
-                        int expectedSize = isFirstLoad ? INITIAL_LOAD_SIZE : MORE_LOAD_SIZE;
-                        hasMoreData = news.size() >= expectedSize;
-                        
-                        // 标记首次加载已完成
-                        if (isFirstLoad) {
-                            isFirstLoad = false;
-                        }
-                        
-                        adapter.setHasMoreData(hasMoreData);
-                        adapter.setLoading(false);  // 停止加载动画
-                        
-                        // 始终显示加载更多卡片（有数据时显示动画，无数据时显示"已加载全部"）
-                        adapter.setShowLoadMore(true);
-                    } else {
-                        hasMoreData = false;
-                        adapter.setHasMoreData(false);
-                        adapter.setLoading(false);
-                        adapter.setShowLoadMore(true);  // 即使没数据也显示"已加载全部"
-                        if (currentOffset == 0) {
-                            Toast.makeText(getContext(), "暂无新闻", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                    
-                    Log.d(TAG, "✅ 加载完成 - 获取 " + (news != null ? news.size() : 0) + 
-                              " 条新闻, 总计 " + newsList.size() + " 条, " +
-                              (hasMoreData ? "还有更多" : "已加载全部"));
-                });
+                onNewsLoaded(news, null, isRefresh);
             }
             
             @Override
@@ -362,13 +351,139 @@ public class NewsListFragment extends Fragment {
         });
     }
     
+    /**
+     * 处理加载结果
+     * 
+     * @param news 本次加载的新闻
+     * @param serverHasMore 服务端给出的是否还有更多（null 表示旧版服务端未提供）
+     * @param isRefresh 是否是下拉刷新
+     */
+    private void onNewsLoaded(List<NewsItem> news, Boolean serverHasMore, boolean isRefresh) {
+        new Handler(Looper.getMainLooper()).post(() -> {
+            isLoading = false;
+            isAutoLoadTriggered = false;  // 重置自动加载标志
+            swipeRefreshLayout.setRefreshing(false);
+            
+            if (isRefresh) {
+                // 只需要调用adapter.clearData，它会自动清空newsList
+                adapter.clearData();
+            }
+            
+            if (news != null && !news.isEmpty()) {
+                // 只需要调用adapter.addData，它会自动添加到newsList
+                adapter.addData(news);
+                currentOffset += news.size();
+                
+                // 判断是否还有更多数据
+                hasMoreData = resolveHasMore(serverHasMore, news.size(),
+                        isFirstLoad ? INITIAL_LOAD_SIZE : MORE_LOAD_SIZE);
+                
+                // 标记首次加载已完成
+                if (isFirstLoad) {
+                    isFirstLoad = false;
+                }
+                
+                adapter.setHasMoreData(hasMoreData);
+                adapter.setLoading(false);  // 停止加载动画
+                
+                // 始终显示加载更多卡片（有数据时显示动画，无数据时显示"已加载全部"）
+                adapter.setShowLoadMore(true);
+            } else {
+                hasMoreData = false;
+                adapter.setHasMoreData(false);
+                adapter.setLoading(false);
+                adapter.setShowLoadMore(true);  // 即使没数据也显示"已加载全部"
+                if (currentOffset == 0) {
+                    Toast.makeText(getContext(), "暂无新闻", Toast.LENGTH_SHORT).show();
+                }
+            }
+            
+            Log.d(TAG, "✅ 加载完成 - 获取 " + (news != null ? news.size() : 0) + 
+                      " 条新闻, 总计 " + newsList.size() + " 条, " +
+                      (hasMoreData ? "还有更多" : "已加载全部"));
+        });
+    }
+    
+    /**
+     * 是否还有更多数据
+     * 
+     * @param serverHasMore 服务端给出的是否还有更多（服务端多查一条，结果准确；null 表示旧版服务端或缓存页）
+     * @param loadedSize 这一页的条数
+     * @param requestedSize 这一页请求的条数
+     * @return 服务端未提供时按条数判断：返回满一页就认为还有更多（首次加载少于4条，或后续加载少于2条时没有更多）
+     */
+    private static boolean resolveHasMore(Boolean serverHasMore, int loadedSize, int requestedSize) {
+        return serverHasMore != null ? serverHasMore : loadedSize >= requestedSize;
+    }
+    
+    /**
+     * 之前显示的缓存页有更新：替换这一页的内容（不追加）
+     * 
+     * @param pageOffset 这一页在列表中的起始位置
+     * @param oldCount 之前显示的条数
+     * @param requestedSize 这一页请求的条数
+     * @param generation 发出请求时的刷新次数
+     * @param page 这一页的最新数据
+     */
+    private void onCachedPageChanged(int pageOffset, int oldCount, int requestedSize, int generation, NewsPage page) {
+        new Handler(Looper.getMainLooper()).post(() -> {
+            if (generation != refreshGeneration) {
+                // 列表已经下拉刷新过，这一页已不在列表中
+                return;
+            }
+            
+            List<NewsItem> news = page.getItems();
+            // 这一页之后还没有加载更多时，游标和是否还有更多以最新数据为准
+            boolean isLastPage = pageOffset + oldCount == currentOffset;
+            
+            adapter.replaceData(pageOffset, oldCount, news);
+            currentOffset += news.size() - oldCount;
+            
+            if (isLastPage) {
+                applyPageMetadata(page, news.size(), requestedSize);
+            }
+            
+            Log.d(TAG, "🔄 缓存页已更新 - 位置: " + pageOffset + ", " + oldCount + " 条 → " + news.size() + " 条");
+        });
+    }
+    
+    /**
+     * 之前显示的缓存页仍是最新：内容不变，只更新下一页游标和是否还有更多
+     * 
+     * @param pageOffset 这一页在列表中的起始位置
+     * @param count 这一页的条数
+     * @param requestedSize 这一页请求的条数
+     * @param generation 发出请求时的刷新次数
+     * @param page 这一页的最新数据
+     */
+    private void onCachedPageConfirmed(int pageOffset, int count, int requestedSize, int generation, NewsPage page) {
+        new Handler(Looper.getMainLooper()).post(() -> {
+            // 列表已经下拉刷新过，或这一页之后已经加载了更多（后面的页用的是自己的游标）
+            if (generation != refreshGeneration || pageOffset + count != currentOffset) {
+                return;
+            }
+            applyPageMetadata(page, count, requestedSize);
+            Log.d(TAG, "✅ 缓存页仍是最新 - 位置: " + pageOffset + ", 下一页游标: " + nextCursor
+                    + ", " + (hasMoreData ? "还有更多" : "已加载全部"));
+        });
+    }
+    
+    /**
+     * 使用网络上最后一页的游标和是否还有更多（服务端未提供时和 onNewsLoaded 一样按条数判断）
+     */
+    private void applyPageMetadata(NewsPage page, int loadedSize, int requestedSize) {
+        nextCursor = page.getNextCursor();
+        hasMoreData = resolveHasMore(page.getHasMore(), loadedSize, requestedSize);
+        adapter.setHasMoreData(hasMoreData);
+    }
+    
     private void loadMoreNews() {
         if (!hasMoreData || isLoading) {
             isAutoLoadTriggered = false;  // 如果不能加载，重置标志
             return;
         }
         
-        Log.d(TAG, "🔄 加载更多 - 分类: " + categoryName + ", 当前offset: " + currentOffset);
+        Log.d(TAG, "🔄 加载更多 - 分类: " + categoryName + ", 当前offset: " + currentOffset + ", 游标: " + nextCursor);
         // 不需要再设置setLoading(true)，因为在checkAndTriggerAutoLoad中已经设置了
         loadNews(false);
     }
@@ -0,0 +1,53 @@
+package com.example.demo2.repository;
+
+import com.example.demo2.NewsItem;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * NewsDiff - 比较新闻显示内容是否变化
+ *
+ * 缓存页和网络数据比较（NewsRepository）使用
+ */
+public final class NewsDiff {
+
+    private NewsDiff() {
+    }
+
+    /**
+     * 判断缓存页和网络数据是否一致（逐条比较显示用到的字段）
+     */
+    public static boolean isSamePage(List<NewsItem> cachedItems, List<NewsItem> freshItems) {
+        if (cachedItems.size() != freshItems.size()) {
+            return false;
+        }
+        for (int i = 0; i < cachedItems.size(); i++) {
+            if (!isSameContent(cachedItems.get(i), freshItems.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断两条新闻显示的内容是否一致
+     * 
+     * @return true = ID 和所有显示字段都相同
+     */
+    public static boolean isSameContent(NewsItem a, NewsItem b) {
+        return Objects.equals(a.getId(), b.getId())
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getSummary(), b.getSummary())
+                && Objects.equals(a.getImageUrl(), b.getImageUrl())
+                && Objects.equals(a.getImageUrl2(), b.getImageUrl2())
+                && Objects.equals(a.getImageUrl3(), b.getImageUrl3())
+                && Objects.equals(a.getMediaType(), b.getMediaType())
+                && Objects.equals(a.getVideoUrl(), b.getVideoUrl())
+                && a.getVideoDuration() == b.getVideoDuration()
+                && Objects.equals(a.getVideoCoverUrl(), b.getVideoCoverUrl())
+                && Objects.equals(a.getPublishTime(), b.getPublishTime())
+                && Objects.equals(a.getReadCount(), b.getReadCount())
+                && Objects.equals(a.getCategoryName(), b.getCategoryName());
+    }
+}
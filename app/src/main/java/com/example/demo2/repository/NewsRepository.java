@@ -3,16 +3,26 @@
 package com.example.demo2.repository;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import com.example.demo2.NewsItem;
 import com.example.demo2.api.NewsApiService;
+import com.example.demo2.api.NewsPage;
 import com.example.demo2.database.AppDatabase;
 import com.example.demo2.database.CachedNews;
 import com.example.demo2.database.NewsDao;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -51,9 +61,48 @@ public class NewsRepository {
     // 上下文对象（用于 Toast 等）
     private Context context;
     
-    // 缓存过期时间（7 天，单位：毫秒）
+    // 缓存过期时间（7 天未使用，单位：毫秒）
     private static final long CACHE_EXPIRE_TIME = 7 * 24 * 60 * 60 * 1000L;
     
+    // 每个分类最多缓存的新闻条数（超出时删除最久未使用的）
+    private static final int MAX_CACHED_NEWS_PER_CATEGORY = 200;
+    
+    // 缓存压缩任务：启动后首次执行的延迟、执行间隔（单位：毫秒）
+    private static final long COMPACTION_INITIAL_DELAY = 30 * 1000L;
+    private static final long COMPACTION_INTERVAL = 30 * 60 * 1000L;
+    
+    // 首页快照有效期（5 分钟，超过后分类第一页重新请求）
+    private static final long HOME_SNAPSHOT_EXPIRE_TIME = 5 * 60 * 1000L;
+    
+    // 缓存读写线程（单线程，保证同一页的读写按顺序执行）
+    private static final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
+    
+    // 缓存维护线程（记录使用时间、定期压缩），不占用缓存读写线程，列表读取不会排在压缩后面
+    private static final ScheduledExecutorService maintenanceExecutor = Executors.newSingleThreadScheduledExecutor();
+    
+    // 缓存压缩任务是否已安排（所有 Repository 实例共享一个任务）
+    private static final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+    
+    // 主线程 Handler（缓存读取完成后回到主线程回调）
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    
+    // ==================== 首页快照（所有 Repository 实例共享，只在主线程访问）====================
+    
+    // 各分类第一页（key 为分类代码），每个分类只使用一次
+    private static final Map<String, NewsPage> homeSnapshot = new HashMap<>();
+    
+    // 快照每个分类的数量，只有请求数量一致时才使用快照
+    private static int homeSnapshotLimit = 0;
+    
+    // 快照获取时间
+    private static long homeSnapshotTime = 0;
+    
+    // 快照请求是否进行中
+    private static boolean homeSnapshotLoading = false;
+    
+    // 快照请求期间到达的分类第一页请求，快照返回后再处理
+    private static final List<Runnable> pendingFirstPageRequests = new ArrayList<>();
+    
     // ==================== 构造方法 ====================
     
     /**
@@ -67,6 +116,7 @@ public class NewsRepository {
         this.context = context;
         this.newsDao = newsDao;
         this.apiService = apiService;
+        scheduleCacheCompaction(newsDao);
     }
     
     /**
@@ -80,7 +130,8 @@ public class NewsRepository {
         AppDatabase database = AppDatabase.getInstance(context);
         this.newsDao = database.newsDao();
         // 初始化API服务
-        this.apiService = com.example.demo2.api.ApiClient.getNewsApiService();
+        this.apiService = com.example.demo2.api.ApiClient.getNewsApiService(context);
+        scheduleCacheCompaction(newsDao);
     }
     
     // ==================== 本地缓存操作 ====================
@@ -109,8 +160,8 @@ public class NewsRepository {
             List<CachedNews> cachedNews = newsDao.getAllCachedNews(limit);
             Log.d(TAG, "✅ 缓存读取成功，共 " + cachedNews.size() + " 条");
             
-            // 清理过期缓存
-            cleanExpiredCache();
+            // 记录使用时间（后台执行，读取本身只有查询）
+            touchCachedNews(cachedNews);
             
             return cachedNews;
         } catch (Exception e) {
@@ -151,8 +202,8 @@ public class NewsRepository {
             }
             Log.d(TAG, "✅ 缓存读取成功，共 " + cachedNews.size() + " 条");
             
-            // 清理过期缓存
-            cleanExpiredCache();
+            // 记录使用时间（后台执行，读取本身只有查询）
+            touchCachedNews(cachedNews);
             
             return cachedNews;
         } catch (Exception e) {
@@ -184,7 +235,7 @@ public class NewsRepository {
      * 注意：必须在子线程调用
      * 
      * @param newsItems 要缓存的新闻列表
-     * @param category 新闻分类（tech, economy, sports 等），null 表示全部分类
+     * @param category 新闻分类（tech, economy, sports 等），null 表示全部分类（已缓存的新闻保留原来的分类）
      * 
      * 使用示例：
      * new Thread(() -> {
@@ -200,20 +251,12 @@ public class NewsRepository {
             long currentTime = System.currentTimeMillis();
             
             for (NewsItem item : newsItems) {
-                CachedNews cachedNews = new CachedNews(
-                    item.getTitle(),
-                    item.getSummary(),
-                    item.getImageUrl(),
-                    item.getPublishTime(),
-                    item.getReadCount(),
-                    currentTime,  // 设置缓存时间为当前时间
-                    category      // 设置分类
-                );
-                cachedNewsList.add(cachedNews);
+                // 设置缓存时间为当前时间，并设置分类
+                cachedNewsList.add(toCachedNews(item, currentTime, category));
             }
             
-            // 保存到数据库
-            newsDao.insertNews(cachedNewsList);
+            // 保存到数据库：已缓存的新闻原地更新，不带分类时保留原来的分类和位置
+            newsDao.upsertNews(cachedNewsList);
             Log.d(TAG, "✅ 缓存保存成功");
             
         } catch (Exception e) {
@@ -244,22 +287,62 @@ public class NewsRepository {
     }
     
     /**
-     * 清理过期的缓存
+     * 记录缓存的使用时间（LRU）
      * 
-     * 删除 7 天前的缓存数据
+     * 把读到的新闻的 cacheTime 更新为当前时间，压缩时最久未使用的先被删除
+     * 在维护线程异步执行，不阻塞读取；读取按发布时间或位置排序，不受使用时间影响
      * 
-     * 注意：必须在子线程调用
+     * @param cachedNews 刚读取的缓存新闻
+     */
+    private void touchCachedNews(List<CachedNews> cachedNews) {
+        if (cachedNews.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (CachedNews news : cachedNews) {
+            ids.add(news.getId());
+        }
+        long currentTime = System.currentTimeMillis();
+        maintenanceExecutor.execute(() -> {
+            try {
+                newsDao.updateCacheTime(ids, currentTime);
+            } catch (Exception e) {
+                Log.e(TAG, "❌ 更新缓存使用时间失败：" + e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * 安排缓存压缩任务（只安排一次，之后定期执行）
+     */
+    private static void scheduleCacheCompaction(NewsDao newsDao) {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            maintenanceExecutor.scheduleWithFixedDelay(() -> compactCache(newsDao),
+                    COMPACTION_INITIAL_DELAY, COMPACTION_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * 压缩缓存（在维护线程定期执行）
+     * 
+     * 1. 删除 7 天未使用的缓存
+     * 2. 每个分类只保留最近使用的 MAX_CACHED_NEWS_PER_CATEGORY 条
      */
-    private void cleanExpiredCache() {
+    private static void compactCache(NewsDao newsDao) {
         try {
             long expireTime = System.currentTimeMillis() - CACHE_EXPIRE_TIME;
             int deletedCount = newsDao.deleteExpiredCache(expireTime);
             
+            for (String category : newsDao.getCachedCategories()) {
+                deletedCount += newsDao.trimCategory(category, MAX_CACHED_NEWS_PER_CATEGORY);
+            }
+            
             if (deletedCount > 0) {
-                Log.d(TAG, "🧹 清理过期缓存，删除 " + deletedCount + " 条");
+                Log.d(TAG, "🧹 压缩缓存，删除 " + deletedCount + " 条");
             }
         } catch (Exception e) {
-            Log.e(TAG, "❌ 清理过期缓存失败：" + e.getMessage());
+            // 捕获所有异常，避免定期任务被取消
+            Log.e(TAG, "❌ 压缩缓存失败：" + e.getMessage());
         }
     }
     
@@ -382,6 +465,36 @@ public class NewsRepository {
     public interface NewsCallback {
         void onSuccess(List<NewsItem> newsItems);
         void onError(String error);
+        
+        /**
+         * 加载成功（带分页信息）
+         * 
+         * @param page 分页结果，包含新闻列表、是否还有更多、下一页游标
+         */
+        default void onSuccess(NewsPage page) {
+            onSuccess(page.getItems());
+        }
+        
+        /**
+         * 之前返回的缓存页已过期，返回网络上的最新数据
+         * 
+         * 只有缓存页和网络数据不一致时才会调用，调用方应替换之前这一页的内容（而不是追加）
+         * 
+         * @param page 这一页的最新数据
+         */
+        default void onPageChanged(NewsPage page) {
+            onSuccess(page);
+        }
+        
+        /**
+         * 之前返回的缓存页内容仍是最新，只返回网络上这一页的分页信息
+         * 
+         * 缓存页不包含游标和是否还有更多，调用方据此更新下一页游标和 hasMore
+         * 
+         * @param page 这一页的最新数据（内容与缓存页相同）
+         */
+        default void onPageMetadata(NewsPage page) {
+        }
     }
     
     /**
@@ -393,50 +506,274 @@ public class NewsRepository {
      * @param callback 回调接口
      */
     public void getNewsList(String category, int offset, int limit, NewsCallback callback) {
-        Log.d(TAG, "📱 获取新闻列表 - 分类: " + category + ", offset: " + offset + ", limit: " + limit);
+        getNewsList(category, offset, null, limit, callback);
+    }
+    
+    /**
+     * 获取分类新闻列表（支持游标分页）
+     * 
+     * 有游标时按游标请求，服务端不需要跳过前面的行；
+     * 没有游标时（第一页或服务端不支持游标）退回 offset 分页
+     * 
+     * @param category 分类代码
+     * @param offset 偏移量（无游标时使用）
+     * @param cursor 上一页返回的游标，可为 null
+     * @param limit 每页数量
+     * @param callback 回调接口
+     */
+    public void getNewsList(String category, int offset, String cursor, int limit, NewsCallback callback) {
+        getNewsList(category, offset, cursor, limit, true, callback);
+    }
+    
+    /**
+     * 获取分类新闻列表（缓存优先，后台更新）
+     * 
+     * 1. 本地有这一页的缓存时，立即通过 onSuccess 返回缓存
+     * 2. 同时请求网络，结果按 分类 + offset 写入本地缓存
+     * 3. 网络数据和缓存不一致时，再通过 onPageChanged 返回最新数据；一致时通过 onPageMetadata 只返回游标和 hasMore
+     * 
+     * 没有缓存时和原来一样，只返回一次网络结果
+     * 
+     * 注意：必须在主线程调用，回调也在主线程执行
+     * 
+     * @param category 分类代码
+     * @param offset 偏移量（同时是这一页在缓存中的位置）
+     * @param cursor 上一页返回的游标，可为 null
+     * @param limit 每页数量
+     * @param cacheFirst 是否先返回缓存（下拉刷新时为 false，只返回网络数据）
+     * @param callback 回调接口
+     */
+    public void getNewsList(String category, int offset, String cursor, int limit,
+                            boolean cacheFirst, NewsCallback callback) {
+        Log.d(TAG, "📱 获取新闻列表 - 分类: " + category + ", offset: " + offset + ", cursor: " + cursor
+                + ", limit: " + limit + ", 缓存优先: " + cacheFirst);
         
-        // 根据分类选择API（移除"all"的处理）
-        Call<List<NewsItem>> call;
-        if (category == null || category.isEmpty()) {
-            // 如果没有分类，获取所有新闻
-            call = apiService.getNewsList(offset, limit);
-        } else {
-            // 有具体分类，获取该分类的新闻
-            call = apiService.getNewsListByCategory(category, offset, limit);
+        // 没有分类时不使用列表页缓存
+        if (!cacheFirst || category == null || category.isEmpty()) {
+            fetchNewsPage(category, offset, cursor, limit, new ArrayList<>(), callback);
+            return;
         }
         
+        cacheExecutor.execute(() -> {
+            List<NewsItem> cachedItems = readCachedPage(category, offset, limit);
+            mainHandler.post(() -> {
+                if (!cachedItems.isEmpty()) {
+                    Log.d(TAG, "💾 使用本地缓存 - 分类: " + category + ", offset: " + offset
+                            + ", " + cachedItems.size() + " 条新闻，后台更新中");
+                    callback.onSuccess(new NewsPage(cachedItems));
+                }
+                fetchNewsPage(category, offset, cursor, limit, cachedItems, callback);
+            });
+        });
+    }
+    
+    /**
+     * 请求一页新闻（首页快照或网络），写入缓存并与已返回的缓存页比较
+     * 
+     * @param cachedItems 已经返回给调用方的缓存页（为空表示没有返回缓存）
+     */
+    private void fetchNewsPage(String category, int offset, String cursor, int limit,
+                               List<NewsItem> cachedItems, NewsCallback callback) {
+        // 分类第一页优先使用首页快照
+        if (offset == 0 && cursor == null && category != null && !category.isEmpty()) {
+            if (homeSnapshotLoading) {
+                // 快照还在请求中，等快照返回后再处理，避免重复请求
+                pendingFirstPageRequests.add(() -> fetchNewsPage(category, offset, cursor, limit, cachedItems, callback));
+                return;
+            }
+            NewsPage snapshotPage = takeHomeSnapshotPage(category, limit);
+            if (snapshotPage != null) {
+                Log.d(TAG, "⚡ 使用首页快照 - 分类: " + category + ", " + snapshotPage.getItems().size() + " 条新闻");
+                fillCategoryName(snapshotPage.getItems(), category);
+                deliverFreshPage(category, offset, limit, snapshotPage, cachedItems, callback);
+                return;
+            }
+        }
+        
+        // 没有分类时获取所有新闻（移除"all"的处理）
+        String categoryParam = (category == null || category.isEmpty()) ? null : category;
+        // 有游标时按游标获取下一页，不再传 offset
+        Integer offsetParam = cursor != null ? null : offset;
+        Call<NewsPage> call = apiService.getNewsPage(categoryParam, offsetParam, cursor, limit);
+        
         // 执行网络请求
-        call.enqueue(new retrofit2.Callback<List<NewsItem>>() {
+        call.enqueue(new retrofit2.Callback<NewsPage>() {
             @Override
-            public void onResponse(Call<List<NewsItem>> call, retrofit2.Response<List<NewsItem>> response) {
+            public void onResponse(Call<NewsPage> call, retrofit2.Response<NewsPage> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    List<NewsItem> newsItems = response.body();
+                    NewsPage page = response.body();
+                    List<NewsItem> newsItems = page.getItems();
                     Log.d(TAG, "✅ 获取成功: " + newsItems.size() + " 条新闻");
                     
                     // 为每个新闻项设置分类名称
-                    for (NewsItem item : newsItems) {
-                        if (item.getCategoryName() == null && category != null) {
-                            item.setCategoryName(getCategoryDisplayName(category));
-                        }
-                    }
+                    fillCategoryName(newsItems, category);
                     
-                    callback.onSuccess(newsItems);
+                    deliverFreshPage(category, offset, limit, page, cachedItems, callback);
                 } else {
                     String error = "获取失败: " + response.code();
                     Log.e(TAG, error);
-                    callback.onError(error);
+                    deliverError(error, cachedItems, callback);
                 }
             }
             
             @Override
-            public void onFailure(Call<List<NewsItem>> call, Throwable t) {
+            public void onFailure(Call<NewsPage> call, Throwable t) {
                 String error = "网络错误: " + t.getMessage();
                 Log.e(TAG, error, t);
-                callback.onError(error);
+                deliverError(error, cachedItems, callback);
+            }
+        });
+    }
+    
+    /**
+     * 返回网络（或快照）上的一页数据，并写入缓存
+     * 
+     * 已经返回过缓存页时，只有数据变化才回调 onPageChanged
+     */
+    private void deliverFreshPage(String category, int offset, int limit, NewsPage page,
+                                  List<NewsItem> cachedItems, NewsCallback callback) {
+        if (category != null && !category.isEmpty()) {
+            List<NewsItem> items = new ArrayList<>(page.getItems());
+            cacheExecutor.execute(() -> writeCachedPage(category, offset, limit, items));
+        }
+        
+        if (cachedItems.isEmpty()) {
+            callback.onSuccess(page);
+        } else if (NewsDiff.isSamePage(cachedItems, page.getItems())) {
+            Log.d(TAG, "✅ 缓存仍是最新 - 分类: " + category + ", offset: " + offset
+                    + ", 下一页游标: " + page.getNextCursor() + ", 还有更多: " + page.getHasMore());
+            callback.onPageMetadata(page);
+        } else {
+            Log.d(TAG, "🔄 缓存已更新 - 分类: " + category + ", offset: " + offset
+                    + ", " + page.getItems().size() + " 条新闻");
+            callback.onPageChanged(page);
+        }
+    }
+    
+    /**
+     * 请求失败：已经返回过缓存页时继续显示缓存，不再回调错误
+     */
+    private void deliverError(String error, List<NewsItem> cachedItems, NewsCallback callback) {
+        if (cachedItems.isEmpty()) {
+            callback.onError(error);
+        } else {
+            Log.w(TAG, "⚠️ 后台更新失败，继续显示缓存：" + error);
+        }
+    }
+    
+    /**
+     * 读取一页缓存（在缓存线程执行）
+     */
+    private List<NewsItem> readCachedPage(String category, int offset, int limit) {
+        try {
+            List<CachedNews> cachedNews = newsDao.getCachedPage(category, offset, limit);
+            touchCachedNews(cachedNews);
+            List<NewsItem> items = convertToNewsItems(cachedNews);
+            fillCategoryName(items, category);
+            return items;
+        } catch (Exception e) {
+            Log.e(TAG, "❌ 缓存页读取失败：" + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * 按 分类 + offset 保存一页缓存（在缓存线程执行）
+     */
+    private void writeCachedPage(String category, int offset, int limit, List<NewsItem> items) {
+        try {
+            List<CachedNews> cachedNewsList = new ArrayList<>();
+            long currentTime = System.currentTimeMillis();
+            for (int i = 0; i < items.size(); i++) {
+                CachedNews cachedNews = toCachedNews(items.get(i), currentTime, category);
+                cachedNews.setPosition(offset + i);
+                cachedNewsList.add(cachedNews);
+            }
+            newsDao.replaceCachedPage(category, offset, limit, cachedNewsList);
+            Log.d(TAG, "💾 缓存页已保存 - 分类: " + category + ", offset: " + offset + ", " + items.size() + " 条");
+        } catch (Exception e) {
+            Log.e(TAG, "❌ 缓存页保存失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 预热首页快照：一次请求获取所有分类的第一页
+     * 
+     * 在 Fragment 请求第一页之前调用（如 MainActivity 启动时），
+     * 快照请求期间到达的分类第一页请求会等待快照返回；请求失败时各分类照常单独请求
+     * 
+     * 注意：必须在主线程调用
+     * 
+     * @param limit 每个分类的数量（应与 Fragment 首次加载数量一致）
+     */
+    public void warmUpHomeSnapshot(int limit) {
+        if (homeSnapshotLoading) {
+            return;
+        }
+        Log.d(TAG, "🔥 预热首页快照，每个分类 " + limit + " 条");
+        homeSnapshotLoading = true;
+        
+        apiService.getHomeSnapshot(limit).enqueue(new Callback<Map<String, NewsPage>>() {
+            @Override
+            public void onResponse(Call<Map<String, NewsPage>> call, Response<Map<String, NewsPage>> response) {
+                homeSnapshot.clear();
+                if (response.isSuccessful() && response.body() != null) {
+                    homeSnapshot.putAll(response.body());
+                    homeSnapshotLimit = limit;
+                    homeSnapshotTime = System.currentTimeMillis();
+                    Log.d(TAG, "✅ 首页快照加载成功，共 " + homeSnapshot.size() + " 个分类");
+                } else {
+                    Log.w(TAG, "⚠️ 首页快照请求失败：" + response.code() + "，各分类单独加载");
+                }
+                finishHomeSnapshot();
+            }
+            
+            @Override
+            public void onFailure(Call<Map<String, NewsPage>> call, Throwable t) {
+                Log.w(TAG, "⚠️ 首页快照请求失败：" + t.getMessage() + "，各分类单独加载");
+                homeSnapshot.clear();
+                finishHomeSnapshot();
             }
         });
     }
     
+    /**
+     * 快照请求结束，处理等待中的分类第一页请求
+     */
+    private static void finishHomeSnapshot() {
+        homeSnapshotLoading = false;
+        List<Runnable> pending = new ArrayList<>(pendingFirstPageRequests);
+        pendingFirstPageRequests.clear();
+        for (Runnable request : pending) {
+            request.run();
+        }
+    }
+    
+    /**
+     * 取出分类的快照页（每个分类只取一次，过期或数量不一致时返回 null）
+     */
+    private static NewsPage takeHomeSnapshotPage(String category, int limit) {
+        NewsPage page = homeSnapshot.remove(category);
+        if (page == null || limit != homeSnapshotLimit) {
+            return null;
+        }
+        if (System.currentTimeMillis() - homeSnapshotTime > HOME_SNAPSHOT_EXPIRE_TIME) {
+            return null;
+        }
+        return page;
+    }
+    
+    /**
+     * 为没有分类名称的新闻项设置分类名称
+     */
+    private void fillCategoryName(List<NewsItem> newsItems, String category) {
+        for (NewsItem item : newsItems) {
+            if (item.getCategoryName() == null && category != null) {
+                item.setCategoryName(getCategoryDisplayName(category));
+            }
+        }
+    }
+    
     /**
      * 获取分类显示名称
      */
@@ -456,22 +793,60 @@ public class NewsRepository {
     
     // ==================== 工具方法 ====================
     
+    /**
+     * 将 NewsItem 转换为 CachedNews（保存所有媒体字段）
+     * 
+     * @param item 新闻对象
+     * @param cacheTime 缓存时间戳
+     * @param category 新闻分类
+     * @return CachedNews 对象
+     */
+    public static CachedNews toCachedNews(NewsItem item, long cacheTime, String category) {
+        CachedNews cachedNews = new CachedNews(
+            item.getTitle(),
+            item.getSummary(),
+            item.getImageUrl(),
+            item.getPublishTime(),
+            item.getReadCount(),
+            cacheTime,
+            category
+        );
+        cachedNews.setNewsId(item.getId());
+        cachedNews.setImageUrl2(item.getImageUrl2());
+        cachedNews.setImageUrl3(item.getImageUrl3());
+        cachedNews.setMediaType(item.getMediaType());
+        cachedNews.setVideoUrl(item.getVideoUrl());
+        cachedNews.setVideoDuration(item.getVideoDuration());
+        cachedNews.setVideoCoverUrl(item.getVideoCoverUrl());
+        cachedNews.setCategoryName(item.getCategoryName());
+        return cachedNews;
+    }
+    
     /**
      * 将 CachedNews 转换为 NewsItem
      * 
-     * 用于将缓存数据转换为 UI 需要的格式
+     * 用于将缓存数据转换为 UI 需要的格式，多图、视频新闻和网络数据显示一致
      * 
      * @param cachedNews 缓存的新闻对象
      * @return NewsItem 对象
      */
     public static NewsItem convertToNewsItem(CachedNews cachedNews) {
-        return new NewsItem(
+        NewsItem newsItem = new NewsItem(
             cachedNews.getTitle(),
             cachedNews.getSummary(),
             cachedNews.getImageUrl(),
+            cachedNews.getImageUrl2(),
+            cachedNews.getImageUrl3(),
+            cachedNews.getMediaType(),
+            cachedNews.getVideoUrl(),
+            cachedNews.getVideoDuration(),
+            cachedNews.getVideoCoverUrl(),
             cachedNews.getPublishTime(),
             cachedNews.getReadCount()
         );
+        newsItem.setId(cachedNews.getNewsId());
+        newsItem.setCategoryName(cachedNews.getCategoryName());
+        return newsItem;
     }
     
     /**
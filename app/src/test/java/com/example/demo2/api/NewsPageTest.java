@@ -0,0 +1,78 @@
+package com.example.demo2.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * NewsPage 解析测试：v2 分页对象格式、旧版数组格式和首页快照（分类代码 → 分页）
+ */
+public class NewsPageTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void parsesV2Envelope() {
+        NewsPage page = gson.fromJson("{\"items\":[{\"id\":7,\"title\":\"A\"},{\"id\":8,\"title\":\"B\"}],"
+                + "\"hasMore\":true,\"nextCursor\":\"abc\",\"serverTimeMs\":1700000000000}", NewsPage.class);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(Long.valueOf(7), page.getItems().get(0).getId());
+        assertEquals("B", page.getItems().get(1).getTitle());
+        assertEquals(Boolean.TRUE, page.getHasMore());
+        assertEquals("abc", page.getNextCursor());
+        assertEquals(1700000000000L, page.getServerTimeMs());
+    }
+
+    @Test
+    public void parsesLegacyArrayWithUnknownHasMore() {
+        NewsPage page = gson.fromJson("[{\"title\":\"A\"},{\"title\":\"B\"},{\"title\":\"C\"}]", NewsPage.class);
+
+        assertEquals(3, page.getItems().size());
+        assertNull(page.getHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void lastPageHasNoCursor() {
+        NewsPage page = gson.fromJson("{\"items\":[],\"hasMore\":false,\"nextCursor\":null}", NewsPage.class);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(Boolean.FALSE, page.getHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void missingItemsIsAnEmptyPage() {
+        NewsPage page = gson.fromJson("{\"hasMore\":false}", NewsPage.class);
+
+        assertTrue(page.getItems().isEmpty());
+    }
+
+    @Test
+    public void parsesHomeSnapshotKeyedByCategory() {
+        Map<String, NewsPage> home = gson.fromJson("{"
+                + "\"tech\":{\"items\":[{\"id\":1,\"title\":\"A\"}],\"hasMore\":true,\"nextCursor\":\"c1\"},"
+                + "\"sports\":{\"items\":[],\"hasMore\":false,\"nextCursor\":null}}",
+                new TypeToken<Map<String, NewsPage>>() { }.getType());
+
+        assertEquals(2, home.size());
+        assertEquals("A", home.get("tech").getItems().get(0).getTitle());
+        assertEquals("c1", home.get("tech").getNextCursor());
+        assertTrue(home.get("sports").getItems().isEmpty());
+        assertEquals(Boolean.FALSE, home.get("sports").getHasMore());
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void rejectsScalarResponse() {
+        gson.fromJson("\"oops\"", NewsPage.class);
+    }
+}
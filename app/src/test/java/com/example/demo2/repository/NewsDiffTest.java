@@ -0,0 +1,66 @@
+package com.example.demo2.repository;
+
+import com.example.demo2.NewsItem;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * NewsDiff 测试：缓存页与网络数据的比较
+ */
+public class NewsDiffTest {
+
+    @Test
+    public void identicalNewsHasSameContent() {
+        assertTrue(NewsDiff.isSameContent(news(1L, "标题", "100"), news(1L, "标题", "100")));
+    }
+
+    @Test
+    public void anyDisplayedFieldChangeIsDetected() {
+        NewsItem base = news(1L, "标题", "100");
+
+        assertFalse(NewsDiff.isSameContent(base, news(2L, "标题", "100")));
+        assertFalse(NewsDiff.isSameContent(base, news(1L, "新标题", "100")));
+        assertFalse(NewsDiff.isSameContent(base, news(1L, "标题", "101")));
+
+        NewsItem video = news(1L, "标题", "100");
+        video.setVideoDuration(30);
+        assertFalse(NewsDiff.isSameContent(base, video));
+
+        NewsItem category = news(1L, "标题", "100");
+        category.setCategoryName("体育");
+        assertFalse(NewsDiff.isSameContent(base, category));
+    }
+
+    @Test
+    public void nullFieldsAreCompared() {
+        NewsItem withoutImage = news(1L, "标题", "100");
+        withoutImage.setImageUrl(null);
+
+        assertTrue(NewsDiff.isSameContent(withoutImage, withoutImage));
+        assertFalse(NewsDiff.isSameContent(withoutImage, news(1L, "标题", "100")));
+    }
+
+    @Test
+    public void samePageRequiresSameOrderAndSize() {
+        NewsItem a = news(1L, "A", "1");
+        NewsItem b = news(2L, "B", "2");
+
+        assertTrue(NewsDiff.isSamePage(Arrays.asList(a, b), Arrays.asList(news(1L, "A", "1"), news(2L, "B", "2"))));
+        assertFalse(NewsDiff.isSamePage(Arrays.asList(a, b), Arrays.asList(b, a)));
+        assertFalse(NewsDiff.isSamePage(Arrays.asList(a, b), Collections.singletonList(a)));
+        assertTrue(NewsDiff.isSamePage(Collections.emptyList(), Collections.emptyList()));
+    }
+
+    private static NewsItem news(Long id, String title, String readCount) {
+        NewsItem item = new NewsItem(title, "摘要", "https://example.com/" + id + ".jpg", "2024-05-10 08:00", readCount);
+        item.setId(id);
+        item.setCategoryName("科技");
+        return item;
+    }
+}
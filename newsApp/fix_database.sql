@@ -74,6 +74,201 @@ PREPARE stmt FROM @sql;
 EXECUTE stmt;
 DEALLOCATE PREPARE stmt;
 
+-- 检查并添加分类表更新时间字段（维度缓存据此判断分类是否变化）
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS 
+     WHERE TABLE_SCHEMA = 'news_db' 
+     AND TABLE_NAME = 'category' 
+     AND COLUMN_NAME = 'update_time') > 0,
+    'SELECT "category.update_time already exists" as status',
+    'ALTER TABLE category ADD COLUMN update_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT "更新时间（微秒，版本戳用）"'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 分类表、用户表更新时间精确到微秒（版本戳在同一秒内的多次修改后也会变化）
+ALTER TABLE category MODIFY COLUMN update_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT '更新时间（微秒，版本戳用）';
+ALTER TABLE user MODIFY COLUMN update_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT '更新时间（微秒，版本戳用）';
+
+-- 检查并添加新闻版本号字段（详情接口 ETag 用）
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+     WHERE TABLE_SCHEMA = 'news_db'
+     AND TABLE_NAME = 'news'
+     AND COLUMN_NAME = 'version') > 0,
+    'SELECT "news.version already exists" as status',
+    'ALTER TABLE news ADD COLUMN version BIGINT NOT NULL DEFAULT 0 COMMENT "版本号（详情显示的字段修改时加一，详情接口 ETag 用）" AFTER read_count'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 详情中显示的字段变化时版本号 +1（只有阅读数变化时不加）
+DROP TRIGGER IF EXISTS trg_news_version_update;
+CREATE TRIGGER trg_news_version_update BEFORE UPDATE ON news FOR EACH ROW
+    SET NEW.version = OLD.version + NOT (NEW.title <=> OLD.title AND NEW.summary <=> OLD.summary
+        AND NEW.content <=> OLD.content
+        AND NEW.image_url <=> OLD.image_url AND NEW.image_url_2 <=> OLD.image_url_2
+        AND NEW.image_url_3 <=> OLD.image_url_3 AND NEW.media_type <=> OLD.media_type
+        AND NEW.video_url <=> OLD.video_url AND NEW.video_duration <=> OLD.video_duration
+        AND NEW.video_cover_url <=> OLD.video_cover_url AND NEW.category_id <=> OLD.category_id
+        AND NEW.user_id <=> OLD.user_id AND NEW.publish_time <=> OLD.publish_time);
+
+-- 检查并添加分类列表索引（分类 + 发布时间 + ID），分类页按索引范围扫描，无需排序
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS 
+     WHERE TABLE_SCHEMA = 'news_db' 
+     AND TABLE_NAME = 'news' 
+     AND INDEX_NAME = 'idx_category_publish') > 0,
+    'SELECT "idx_category_publish already exists" as status',
+    'ALTER TABLE news ADD INDEX idx_category_publish (category_id, publish_time, id)'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 删除旧的分类单列索引（已被 idx_category_publish 覆盖，外键也由它支持，保留只会增加写入开销）
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+     WHERE TABLE_SCHEMA = 'news_db'
+     AND TABLE_NAME = 'news'
+     AND INDEX_NAME = 'idx_category') > 0,
+    'ALTER TABLE news DROP INDEX idx_category',
+    'SELECT "idx_category already dropped" as status'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 检查并添加全文索引（ngram 分词，支持中文搜索）
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS 
+     WHERE TABLE_SCHEMA = 'news_db' 
+     AND TABLE_NAME = 'news' 
+     AND INDEX_NAME = 'ft_news_text') > 0,
+    'SELECT "ft_news_text already exists" as status',
+    'ALTER TABLE news ADD FULLTEXT INDEX ft_news_text (title, summary, content) WITH PARSER ngram'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 创建分类新闻数统计表及维护触发器（与 schema.sql 保持一致）
+CREATE TABLE IF NOT EXISTS news_category_stats (
+    category_id BIGINT PRIMARY KEY COMMENT '分类ID',
+    news_count INT NOT NULL DEFAULT 0 COMMENT '新闻数量',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '列表版本（分类内新增、删除新闻和修改列表显示的字段时加一，列表接口 ETag 用）',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='分类新闻数统计表';
+
+-- 检查并添加列表版本字段（已有统计表时）
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+     WHERE TABLE_SCHEMA = 'news_db'
+     AND TABLE_NAME = 'news_category_stats'
+     AND COLUMN_NAME = 'version') > 0,
+    'SELECT "news_category_stats.version already exists" as status',
+    'ALTER TABLE news_category_stats ADD COLUMN version BIGINT NOT NULL DEFAULT 0 COMMENT "列表版本（分类内新增、删除新闻和修改列表显示的字段时加一，列表接口 ETag 用）" AFTER news_count'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+DROP TRIGGER IF EXISTS trg_news_stats_insert;
+CREATE TRIGGER trg_news_stats_insert AFTER INSERT ON news FOR EACH ROW
+    INSERT INTO news_category_stats (category_id, news_count, version) VALUES (NEW.category_id, 1, 1)
+    ON DUPLICATE KEY UPDATE news_count = news_count + 1, version = version + 1;
+
+DROP TRIGGER IF EXISTS trg_news_stats_delete;
+CREATE TRIGGER trg_news_stats_delete AFTER DELETE ON news FOR EACH ROW
+    UPDATE news_category_stats SET news_count = news_count - 1, version = version + 1
+    WHERE category_id = OLD.category_id;
+
+-- 列表中显示的字段变化时列表版本 +1（只有阅读数变化时不加）
+DROP TRIGGER IF EXISTS trg_news_stats_update;
+CREATE TRIGGER trg_news_stats_update AFTER UPDATE ON news FOR EACH ROW
+    INSERT INTO news_category_stats (category_id, news_count, version)
+    SELECT t.category_id, t.delta, 1
+    FROM (SELECT NEW.category_id AS category_id, IF(NEW.category_id <> OLD.category_id, 1, 0) AS delta
+          UNION ALL
+          SELECT OLD.category_id, -1 FROM DUAL WHERE NEW.category_id <> OLD.category_id) t
+    WHERE NOT (NEW.title <=> OLD.title AND NEW.summary <=> OLD.summary
+               AND NEW.image_url <=> OLD.image_url AND NEW.image_url_2 <=> OLD.image_url_2
+               AND NEW.image_url_3 <=> OLD.image_url_3 AND NEW.media_type <=> OLD.media_type
+               AND NEW.video_url <=> OLD.video_url AND NEW.video_duration <=> OLD.video_duration
+               AND NEW.video_cover_url <=> OLD.video_cover_url AND NEW.category_id <=> OLD.category_id
+               AND NEW.user_id <=> OLD.user_id AND NEW.publish_time <=> OLD.publish_time)
+    ON DUPLICATE KEY UPDATE news_count = news_count + t.delta, version = version + 1;
+
+DROP EVENT IF EXISTS evt_reconcile_news_category_stats;
+CREATE EVENT evt_reconcile_news_category_stats ON SCHEDULE EVERY 1 HOUR DO
+    INSERT INTO news_category_stats (category_id, news_count)
+    SELECT s.category_id, s.actual_count
+    FROM (SELECT c.id AS category_id, (SELECT COUNT(*) FROM news n WHERE n.category_id = c.id) AS actual_count
+          FROM category c) s
+    ON DUPLICATE KEY UPDATE version = version + (news_count <> s.actual_count),
+                            news_count = s.actual_count;
+
+-- 用现有数据初始化分类计数
+INSERT INTO news_category_stats (category_id, news_count)
+SELECT s.category_id, s.actual_count
+FROM (SELECT c.id AS category_id, (SELECT COUNT(*) FROM news n WHERE n.category_id = c.id) AS actual_count
+      FROM category c) s
+ON DUPLICATE KEY UPDATE news_count = s.actual_count;
+
+-- 检查并添加增量同步索引（按更新时间查询变更）
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS 
+     WHERE TABLE_SCHEMA = 'news_db' 
+     AND TABLE_NAME = 'news' 
+     AND INDEX_NAME = 'idx_category_update') > 0,
+    'SELECT "idx_category_update already exists" as status',
+    'ALTER TABLE news ADD INDEX idx_category_update (category_id, update_time, id)'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = (SELECT IF(
+    (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS 
+     WHERE TABLE_SCHEMA = 'news_db' 
+     AND TABLE_NAME = 'news' 
+     AND INDEX_NAME = 'idx_update_time') > 0,
+    'SELECT "idx_update_time already exists" as status',
+    'ALTER TABLE news ADD INDEX idx_update_time (update_time)'
+));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 创建新闻删除日志表及触发器（与 schema.sql 保持一致）
+CREATE TABLE IF NOT EXISTS news_deletion_log (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '日志ID',
+    news_id BIGINT NOT NULL COMMENT '被删除的新闻ID',
+    category_id BIGINT NOT NULL COMMENT '新闻原所属分类ID',
+    delete_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '删除时间',
+    INDEX idx_category_delete (category_id, delete_time, id),
+    INDEX idx_delete_time (delete_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='新闻删除日志';
+
+-- 删除新闻：记录删除标记
+DROP TRIGGER IF EXISTS trg_news_deletion_log_delete;
+CREATE TRIGGER trg_news_deletion_log_delete AFTER DELETE ON news FOR EACH ROW
+    INSERT INTO news_deletion_log (news_id, category_id) VALUES (OLD.id, OLD.category_id);
+
+-- 修改新闻分类：对原分类来说相当于删除
+DROP TRIGGER IF EXISTS trg_news_deletion_log_update;
+CREATE TRIGGER trg_news_deletion_log_update AFTER UPDATE ON news FOR EACH ROW
+    INSERT INTO news_deletion_log (news_id, category_id)
+    SELECT OLD.id, OLD.category_id FROM DUAL
+    WHERE NEW.category_id <> OLD.category_id;
+
+-- 每天清理 30 天前的删除日志（客户端同步点早于 30 天时需要全量刷新）
+DROP EVENT IF EXISTS evt_purge_news_deletion_log;
+CREATE EVENT evt_purge_news_deletion_log ON SCHEDULE EVERY 1 DAY DO
+    DELETE FROM news_deletion_log WHERE delete_time < DATE_SUB(NOW(), INTERVAL 30 DAY);
+
 -- 更新现有新闻的media_type字段
 UPDATE news SET media_type = 'single_image' WHERE media_type IS NULL OR media_type = '';
 
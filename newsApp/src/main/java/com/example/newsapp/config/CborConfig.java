@@ -0,0 +1,23 @@
+package com.example.newsapp.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR 响应配置
+ *
+ * 客户端请求头带 Accept: application/cbor 时，新闻列表/详情以 CBOR 二进制格式返回，
+ * 其他请求仍返回 JSON。
+ * 使用 Spring Boot 的 Jackson 配置创建转换器，保证日期等字段的格式与 JSON 一致。
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
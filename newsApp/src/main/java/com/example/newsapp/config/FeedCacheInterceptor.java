@@ -0,0 +1,453 @@
+package com.example.newsapp.config;
+
+import com.example.newsapp.mapper.ResultProperties;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热门列表页缓存（MyBatis 拦截器）
+ *
+ * 缓存 selectNewsList、游标/摘要列表、首页快照和 countNews 的查询结果：
+ * - LRU 淘汰，条目数上限 news.feed-cache.max-size（默认 512），过期时间 news.feed-cache.ttl-seconds（默认 60 秒）
+ * - insertNews / batchInsertNews / updateNews / deleteNews 只清除受影响分类的条目和全部新闻列表的条目，
+ *   其他分类的缓存不受影响；修改、删除前先查询新闻原来的分类，移出分类时新旧分类都会清除
+ * - 阅读数刷盘（incrementReadCounts）不清除缓存：阅读数不计入列表 ETag，缓存中的阅读数最多滞后一个过期时间，
+ *   否则每 5 秒一次的刷盘会反复清空最热门分类的缓存
+ * - 按分类代码查询的条目通过分类代码 → 分类ID 映射归入分类；未知的分类代码最多每分钟重新加载一次分类表，
+ *   分类表变化时由 reloadCategories() 重新加载并清除全部条目
+ * - 写入在 Spring 事务中时，事务提交后再清除一次，避免提交前被其他请求读到的旧数据留在缓存中
+ * - 事务中的查询不走缓存（可能读到本事务未提交的数据）
+ * - 新增、修改、删除生效后（事务提交后）通知 addWriteListener 注册的 NewsWriteListener（新闻推送、阅读数缓存等）
+ * - 未命中时同一查询（相同语句和参数）只有一个请求访问数据库，并发的相同请求等待它的结果（合并突发流量）；
+ *   等待超过 news.feed-cache.coalesce-timeout-ms（默认 3000 毫秒）后自己查询，不会无限期阻塞；
+ *   第一个请求失败时等待者收到同一个异常
+ * - 命中、未命中、合并、等待超时、淘汰、失效次数通过 getStats() 查看（/api/stats/feed-cache），用于调整缓存大小
+ *
+ * 缓存结果由所有调用方共享，调用方不能修改返回的列表。
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class FeedCacheInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedCacheInterceptor.class);
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    /** 缓存结果的列表查询 */
+    private static final Set<String> FEED_STATEMENTS = Set.of(
+            NAMESPACE + "selectNewsList",
+            NAMESPACE + "selectNewsListByCursor",
+            NAMESPACE + "selectNewsSummaryList",
+            NAMESPACE + "selectHomeSnapshot",
+            NAMESPACE + "countNews");
+
+    private static final String SELECT_NEWS_CATEGORY_ID = NAMESPACE + "selectNewsCategoryId";
+    private static final String SELECT_CATEGORY_LIST = NAMESPACE + "selectCategoryList";
+    private static final String INCREMENT_READ_COUNTS = NAMESPACE + "incrementReadCounts";
+
+    /** 遇到未知分类代码时重新加载分类表的最小间隔（未知代码在此期间直接按全部新闻处理，不再查询） */
+    private static final long CATEGORY_RELOAD_INTERVAL_MILLIS = 60_000;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long coalesceTimeoutMillis;
+
+    /** LRU 顺序的缓存条目，访问时需要持有锁 */
+    private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** 正在查询数据库的请求（同一查询的并发请求等待它的结果） */
+    private final Map<CacheKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /** 分类代码 → 分类ID（按分类代码查询的条目据此归入分类） */
+    private final Map<String, Long> categoryIds = new ConcurrentHashMap<>();
+
+    /** 上次加载分类表的时间，0 表示未加载 */
+    private volatile long categoriesLoadedAt;
+
+    /** 每次失效加一；查询期间发生过失效时不写入缓存，避免把失效前读到的旧数据放回缓存 */
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final List<NewsWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder coalesceTimeouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public FeedCacheInterceptor(@Value("${news.feed-cache.max-size:512}") int maxSize,
+                                @Value("${news.feed-cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${news.feed-cache.coalesce-timeout-ms:3000}") long coalesceTimeoutMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.coalesceTimeoutMillis = coalesceTimeoutMillis;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        Object parameter = args[1];
+        Executor executor = (Executor) invocation.getTarget();
+
+        if (args.length == 2) {
+            if (INCREMENT_READ_COUNTS.equals(ms.getId())) {
+                return invocation.proceed();
+            }
+            return update(invocation, executor, ms, parameter);
+        }
+        if (!FEED_STATEMENTS.contains(ms.getId()) || args[3] != Executor.NO_RESULT_HANDLER
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        return query(invocation, executor, ms, parameter, (RowBounds) args[2]);
+    }
+
+    private Object query(Invocation invocation, Executor executor, MappedStatement ms,
+                         Object parameter, RowBounds rowBounds) throws Throwable {
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        CacheKey key = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expireAt > now) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            Object result = awaitLeader(leader);
+            if (result != null) {
+                return result;
+            }
+            // 等待超时：自己查询，不写入缓存（结果由第一个请求写入）
+            return invocation.proceed();
+        }
+
+        try {
+            long epoch = invalidationEpoch.get();
+            Object result = invocation.proceed();
+            Long categoryId = resolveCategory(executor, ms.getConfiguration(), parameter);
+            put(key, new Entry(result, categoryId, now + ttlMillis), epoch);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 等待同一查询的第一个请求，返回它的结果；超时返回 null（列表查询的结果不会是 null）
+     */
+    private Object awaitLeader(CompletableFuture<Object> leader) throws Throwable {
+        try {
+            Object result = leader.get(coalesceTimeoutMillis, TimeUnit.MILLISECONDS);
+            coalesced.increment();
+            return result;
+        } catch (TimeoutException e) {
+            coalesceTimeouts.increment();
+            return null;
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            throw e.getCause();
+        }
+    }
+
+    private void put(CacheKey key, Entry entry, long epoch) {
+        synchronized (entries) {
+            if (invalidationEpoch.get() != epoch) {
+                return;
+            }
+            entries.put(key, entry);
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private Object update(Invocation invocation, Executor executor, MappedStatement ms,
+                          Object parameter) throws Throwable {
+        // null 表示清除全部（无法确定受影响的分类）
+        Set<Long> categories = affectedCategories(executor, ms, parameter);
+        String statementName = statementName(ms);
+        // 批量插入的列表在调用方可能被复用，先复制（对象不变，执行后回填ID）
+        List<Object> inserted = insertedNews(statementName, parameter);
+        Object result = invocation.proceed();
+
+        invalidate(categories);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(categories);
+                    notifyWriteListeners(statementName, parameter, inserted);
+                }
+            });
+        } else {
+            notifyWriteListeners(statementName, parameter, inserted);
+        }
+        return result;
+    }
+
+    private static List<Object> insertedNews(String statementName, Object parameter) {
+        if ("insertNews".equals(statementName)) {
+            return List.of(parameter);
+        }
+        if ("batchInsertNews".equals(statementName)) {
+            Object list = ResultProperties.get(parameter, "list");
+            return list instanceof Collection ? new ArrayList<>((Collection<?>) list) : List.of();
+        }
+        return null;
+    }
+
+    private void notifyWriteListeners(String statementName, Object parameter, List<Object> inserted) {
+        boolean changed = "updateNews".equals(statementName) || "deleteNews".equals(statementName);
+        Long newsId = changed ? newsId(parameter) : null;
+        if (writeListeners.isEmpty() || (inserted == null || inserted.isEmpty()) && newsId == null) {
+            return;
+        }
+        for (NewsWriteListener listener : writeListeners) {
+            try {
+                if (inserted != null) {
+                    listener.newsInserted(inserted);
+                } else if (newsId != null) {
+                    listener.newsChanged(newsId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("新闻写入回调失败：{}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 注册新闻写入回调
+     */
+    public void addWriteListener(NewsWriteListener listener) {
+        writeListeners.add(listener);
+    }
+
+    /**
+     * 写入影响的分类：新增看新闻的分类，修改/删除还要看新闻原来的分类
+     * 无法确定分类时返回 null（清除全部，宁可多清不留旧数据）
+     */
+    private Set<Long> affectedCategories(Executor executor, MappedStatement ms, Object parameter) throws Exception {
+        Set<Long> categories = new HashSet<>();
+        switch (statementName(ms)) {
+            case "insertNews":
+                return addCategory(categories, ResultProperties.get(parameter, "categoryId")) ? categories : null;
+            case "batchInsertNews":
+                Object list = ResultProperties.get(parameter, "list");
+                if (!(list instanceof Collection)) {
+                    return null;
+                }
+                for (Object news : (Collection<?>) list) {
+                    if (!addCategory(categories, ResultProperties.get(news, "categoryId"))) {
+                        return null;
+                    }
+                }
+                return categories;
+            case "updateNews":
+                // 未修改分类时 categoryId 为 null，只影响原分类
+                addCategory(categories, ResultProperties.get(parameter, "categoryId"));
+                Object oldCategoryId = selectNewsCategoryId(executor, ms.getConfiguration(), newsId(parameter));
+                return addCategory(categories, oldCategoryId) ? categories : null;
+            case "deleteNews":
+                return addCategory(categories, selectNewsCategoryId(executor, ms.getConfiguration(), newsId(parameter)))
+                        ? categories : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * NewsMapper 中的语句名（其他命名空间的语句返回空字符串）
+     */
+    private static String statementName(MappedStatement ms) {
+        return ms.getId().startsWith(NAMESPACE) ? ms.getId().substring(NAMESPACE.length()) : "";
+    }
+
+    /**
+     * 修改、删除的新闻ID（deleteNews 可以直接传ID）
+     */
+    private static Long newsId(Object parameter) {
+        return parameter instanceof Number ? Long.valueOf(((Number) parameter).longValue())
+                : ResultProperties.getLong(parameter, "id");
+    }
+
+    private static boolean addCategory(Set<Long> categories, Object categoryId) {
+        if (categoryId instanceof Number) {
+            categories.add(((Number) categoryId).longValue());
+            return true;
+        }
+        return false;
+    }
+
+    private Object selectNewsCategoryId(Executor executor, Configuration configuration, Object newsId)
+            throws Exception {
+        MappedStatement ms = findStatement(configuration, SELECT_NEWS_CATEGORY_ID);
+        if (newsId == null || ms == null) {
+            return null;
+        }
+        List<Object> rows = executor.query(ms, newsId, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * 清除指定分类和全部新闻列表的条目；categories 为 null 时清除全部
+     */
+    void invalidate(Set<Long> categories) {
+        synchronized (entries) {
+            invalidationEpoch.incrementAndGet();
+            invalidations.increment();
+            // 失效前开始的查询可能读到旧数据，之后的请求不再等待它们
+            inFlight.clear();
+            if (categories == null) {
+                entries.clear();
+                return;
+            }
+            entries.values().removeIf(entry -> entry.categoryId == null || categories.contains(entry.categoryId));
+        }
+    }
+
+    /**
+     * 查询结果所属的分类，null 表示全部新闻（首页快照、不带分类的列表）
+     */
+    private Long resolveCategory(Executor executor, Configuration configuration, Object parameter)
+            throws Exception {
+        Object categoryId = ResultProperties.get(parameter, "categoryId");
+        if (categoryId instanceof Number) {
+            return ((Number) categoryId).longValue();
+        }
+        Object categoryCode = ResultProperties.get(parameter, "categoryCode");
+        if (!(categoryCode instanceof String) || ((String) categoryCode).isEmpty()) {
+            return null;
+        }
+        Long id = categoryIds.get(categoryCode);
+        if (id == null && System.currentTimeMillis() - categoriesLoadedAt >= CATEGORY_RELOAD_INTERVAL_MILLIS) {
+            loadCategoryIds(executor, configuration);
+            id = categoryIds.get(categoryCode);
+        }
+        return id;
+    }
+
+    private void loadCategoryIds(Executor executor, Configuration configuration) throws Exception {
+        MappedStatement ms = findStatement(configuration, SELECT_CATEGORY_LIST);
+        if (ms == null) {
+            return;
+        }
+        // 先记录加载时间：加载失败时也不会让每个未知代码的请求都重新查询
+        categoriesLoadedAt = System.currentTimeMillis();
+        List<Object> categories = executor.query(ms, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        for (Object category : categories) {
+            Object code = ResultProperties.get(category, "code");
+            Object id = ResultProperties.get(category, "id");
+            if (code instanceof String && id instanceof Number) {
+                categoryIds.put((String) code, ((Number) id).longValue());
+            }
+        }
+    }
+
+    /**
+     * 分类表变化（新增、修改分类代码）后调用：下次按分类代码查询时重新加载映射，并清除全部条目
+     */
+    public void reloadCategories() {
+        categoryIds.clear();
+        categoriesLoadedAt = 0;
+        invalidate(null);
+    }
+
+    private static MappedStatement findStatement(Configuration configuration, String id) {
+        return configuration.hasStatement(id, false) ? configuration.getMappedStatement(id, false) : null;
+    }
+
+    /**
+     * 缓存统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long coalescedCount = coalesced.sum();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        // 合并率：未命中的请求中等待其他请求结果、没有访问数据库的比例
+        stats.put("coalesced", coalescedCount);
+        stats.put("coalesceRatio", missCount == 0 ? 0.0 : (double) coalescedCount / missCount);
+        stats.put("coalesceTimeouts", coalesceTimeouts.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private static final class Entry {
+        final Object value;
+        final Long categoryId;
+        final long expireAt;
+
+        Entry(Object value, Long categoryId, long expireAt) {
+            this.value = value;
+            this.categoryId = categoryId;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.newsapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.example.newsapp.service.NewsDimensionCache;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 新闻接口 ETag 过滤器
+ *
+ * 列表、首页快照和详情接口先查询便宜的版本戳（NewsMapper.selectFeedVersion / selectNewsVersion），
+ * 和请求地址、Accept 一起计算 ETag；分类代码通过维度缓存解析为分类ID，未知的分类不计算 ETag。
+ * 客户端带 If-None-Match 且数据没有变化时直接返回 304，不再执行列表查询和序列化。
+ */
+@Component
+public class NewsEtagFilter extends OncePerRequestFilter {
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    private static final String NEWS_PATH = "/api/news";
+    private static final String HOME_PATH = "/api/news/home";
+    private static final String CATEGORY_PATH_PREFIX = "/api/news/category/";
+
+    private final SqlSession sqlSession;
+    private final NewsDimensionCache dimensionCache;
+
+    public NewsEtagFilter(SqlSession sqlSession, NewsDimensionCache dimensionCache) {
+        this.sqlSession = sqlSession;
+        this.dimensionCache = dimensionCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String version = queryVersion(request);
+        if (version == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // 同一地址可能返回 JSON 或 CBOR，ETag 需要区分 Accept
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String etag = "\"" + DigestUtils.md5DigestAsHex((request.getRequestURI() + "?" + request.getQueryString()
+                + "|" + accept + "|" + version).getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // 客户端可以缓存响应，但每次使用前都要带 If-None-Match 验证
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * 查询请求对应的版本戳，不是新闻读取接口时返回 null
+     */
+    private String queryVersion(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (NEWS_PATH.equals(path)) {
+            return selectFeedVersion(request.getParameter("category"));
+        }
+        if (HOME_PATH.equals(path)) {
+            return selectFeedVersion(null);
+        }
+        if (path.startsWith(CATEGORY_PATH_PREFIX)) {
+            String code = path.substring(CATEGORY_PATH_PREFIX.length());
+            return code.isEmpty() || code.contains("/") ? null : selectFeedVersion(code);
+        }
+        if (path.startsWith(NEWS_PATH + "/")) {
+            String id = path.substring(NEWS_PATH.length() + 1);
+            if (!id.isEmpty() && id.length() < 19 && id.chars().allMatch(Character::isDigit)) {
+                return sqlSession.selectOne(NAMESPACE + "selectNewsVersion", Long.parseLong(id));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 分类代码为 null 或空时查询全部新闻的版本戳，未知的分类代码返回 null
+     */
+    private String selectFeedVersion(String categoryCode) {
+        Long categoryId = null;
+        if (categoryCode != null && !categoryCode.isEmpty()) {
+            categoryId = dimensionCache.categoryId(categoryCode);
+            if (categoryId == null) {
+                return null;
+            }
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("categoryId", categoryId);
+        return sqlSession.selectOne(NAMESPACE + "selectFeedVersion", params);
+    }
+}
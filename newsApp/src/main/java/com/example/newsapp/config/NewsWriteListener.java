@@ -0,0 +1,26 @@
+package com.example.newsapp.config;
+
+import java.util.List;
+
+/**
+ * 新闻写入回调，通过 FeedCacheInterceptor.addWriteListener 注册
+ *
+ * 写入在 Spring 事务中时在事务提交后调用（回滚的写入不会回调），否则在语句执行后调用。
+ * 回调在写入的线程上执行，应尽快返回；抛出的异常只记录日志，不影响写入。
+ */
+public interface NewsWriteListener {
+
+    /**
+     * 新增了新闻
+     *
+     * @param newsList insertNews / batchInsertNews 的参数对象，已回填自增ID，不能修改
+     */
+    default void newsInserted(List<Object> newsList) {
+    }
+
+    /**
+     * 新闻被修改（updateNews）或删除（deleteNews）
+     */
+    default void newsChanged(Long newsId) {
+    }
+}
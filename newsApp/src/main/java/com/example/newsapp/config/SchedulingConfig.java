@@ -0,0 +1,12 @@
+package com.example.newsapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置（阅读数定时刷盘等 @Scheduled 任务）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,53 @@
+package com.example.newsapp.controller;
+
+import com.example.newsapp.config.FeedCacheInterceptor;
+import com.example.newsapp.service.NewsEventHub;
+import com.example.newsapp.service.NewsItemJsonCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 缓存统计接口（调整缓存大小和过期时间时查看命中率）
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class CacheStatsController {
+
+    private final FeedCacheInterceptor feedCacheInterceptor;
+    private final NewsEventHub newsEventHub;
+    private final NewsItemJsonCache newsItemJsonCache;
+
+    public CacheStatsController(FeedCacheInterceptor feedCacheInterceptor, NewsEventHub newsEventHub,
+                                NewsItemJsonCache newsItemJsonCache) {
+        this.feedCacheInterceptor = feedCacheInterceptor;
+        this.newsEventHub = newsEventHub;
+        this.newsItemJsonCache = newsItemJsonCache;
+    }
+
+    /**
+     * 列表缓存统计：条目数、命中/未命中次数、命中率、淘汰和失效次数
+     */
+    @GetMapping("/feed-cache")
+    public Map<String, Object> feedCacheStats() {
+        return feedCacheInterceptor.getStats();
+    }
+
+    /**
+     * 列表新闻 JSON 片段缓存统计：条目数、命中/未命中次数、命中率
+     */
+    @GetMapping("/item-json-cache")
+    public Map<String, Object> itemJsonCacheStats() {
+        return newsItemJsonCache.getStats();
+    }
+
+    /**
+     * 新闻推送统计：订阅数、推送的新闻数、因客户端太慢丢弃的事件数
+     */
+    @GetMapping("/news-stream")
+    public Map<String, Object> newsStreamStats() {
+        return newsEventHub.getStats();
+    }
+}
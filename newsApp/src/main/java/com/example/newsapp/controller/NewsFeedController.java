@@ -0,0 +1,145 @@
+package com.example.newsapp.controller;
+
+import com.example.newsapp.service.NewsEventHub;
+import com.example.newsapp.service.NewsFeedService;
+import com.example.newsapp.service.NewsItemJsonCache;
+import com.example.newsapp.service.NewsSyncService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 新闻列表读取接口
+ *
+ * 返回的新闻只包含列表摘要字段（不含正文），分类和作者信息来自维度缓存
+ */
+@RestController
+@RequestMapping("/api/news")
+public class NewsFeedController {
+
+    private final NewsFeedService newsFeedService;
+    private final NewsSyncService newsSyncService;
+    private final NewsEventHub newsEventHub;
+    private final NewsItemJsonCache newsItemJsonCache;
+
+    public NewsFeedController(NewsFeedService newsFeedService, NewsSyncService newsSyncService,
+                              NewsEventHub newsEventHub, NewsItemJsonCache newsItemJsonCache) {
+        this.newsFeedService = newsFeedService;
+        this.newsSyncService = newsSyncService;
+        this.newsEventHub = newsEventHub;
+        this.newsItemJsonCache = newsItemJsonCache;
+    }
+
+    /**
+     * 分页获取新闻列表（v2 响应格式，不带 v=2 的请求不由这里处理）
+     *
+     * GET /api/news?v=2&amp;category=tech&amp;offset=0&amp;limit=10
+     * GET /api/news?v=2&amp;category=tech&amp;cursor={nextCursor}&amp;limit=10
+     *
+     * JSON 响应由列表新闻的 JSON 片段缓存直接写出，不再逐条序列化新闻
+     *
+     * @return {items, hasMore, nextCursor, serverTimeMs}，多查询一条准确判断 hasMore
+     */
+    @GetMapping(params = "v=2")
+    public void list(@RequestParam(value = "category", required = false) String category,
+                     @RequestParam(value = "offset", required = false) Integer offset,
+                     @RequestParam(value = "cursor", required = false) String cursor,
+                     @RequestParam(value = "limit", required = false) Integer limit,
+                     HttpServletResponse response) throws IOException {
+        long epoch = newsItemJsonCache.epoch();
+        Map<String, Object> page = listPage(category, offset, cursor, limit);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        newsItemJsonCache.writePage(page, epoch, response.getOutputStream());
+    }
+
+    /**
+     * 分页获取新闻列表的 CBOR 响应（Accept: application/cbor），参数同 list
+     */
+    @GetMapping(params = "v=2", produces = "application/cbor")
+    public Map<String, Object> listCbor(@RequestParam(value = "category", required = false) String category,
+                                        @RequestParam(value = "offset", required = false) Integer offset,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        return listPage(category, offset, cursor, limit);
+    }
+
+    private Map<String, Object> listPage(String category, Integer offset, String cursor, Integer limit) {
+        try {
+            return newsFeedService.list(category, offset, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 首页快照：一次请求返回所有分类的第一页（启动时预热全部分类标签）
+     *
+     * GET /api/news/home?limit=10
+     *
+     * @return 分类代码 → {items, hasMore, nextCursor, serverTimeMs}
+     */
+    @GetMapping("/home")
+    public Map<String, Map<String, Object>> home(@RequestParam(value = "limit", required = false) Integer limit) {
+        return newsFeedService.home(limit);
+    }
+
+    /**
+     * 按ID批量查询新闻（预取可见新闻，一次请求代替逐条查询），最多 100 个
+     *
+     * GET /api/news/batch?ids=3,1,2
+     *
+     * @return 新闻ID → 新闻，不存在的ID不返回
+     */
+    @GetMapping("/batch")
+    public Map<Long, Map<String, Object>> batch(@RequestParam("ids") List<Long> ids) {
+        try {
+            return newsFeedService.batch(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 增量同步：上次同步之后新增、修改和删除的新闻（返回用户只下载变化的部分）
+     *
+     * GET /api/news/changes?category=tech&amp;since={nextCursor}&amp;limit=100
+     *
+     * @return {upserts, deletedIds, hasMore, nextCursor, reset, serverTimeMs}
+     */
+    @GetMapping("/changes")
+    public Map<String, Object> changes(@RequestParam(value = "category", required = false) String category,
+                                       @RequestParam(value = "since", required = false) String since,
+                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return newsSyncService.changes(category, since, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 订阅新发布的新闻（Server-Sent Events），新闻提交后推送 news 事件，数据为列表格式的新闻
+     *
+     * GET /api/news/stream?category=tech（不带 category 订阅全部分类）
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(value = "category", required = false) String category) {
+        try {
+            return newsEventHub.subscribe(category);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.newsapp.controller;
+
+import com.example.newsapp.service.NewsIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 新闻批量导入接口（编辑导入使用）
+ */
+@RestController
+@RequestMapping("/api/news")
+public class NewsIngestController {
+
+    private final NewsIngestService newsIngestService;
+
+    public NewsIngestController(NewsIngestService newsIngestService) {
+        this.newsIngestService = newsIngestService;
+    }
+
+    /**
+     * 批量导入新闻，请求体为新闻 JSON 数组（边读边写入，不会一次读入整个请求体）
+     *
+     * POST /api/news/ingest
+     *
+     * @return {inserted, rejected, failed, results, error}，results 为每条新闻的结果
+     */
+    @PostMapping(value = "/ingest", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> ingest(HttpServletRequest request) throws IOException {
+        try {
+            return newsIngestService.ingest(request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
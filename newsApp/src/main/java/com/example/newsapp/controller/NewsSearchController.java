@@ -0,0 +1,42 @@
+package com.example.newsapp.controller;
+
+import com.example.newsapp.service.NewsSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+/**
+ * 新闻搜索接口
+ */
+@RestController
+@RequestMapping("/api/news")
+public class NewsSearchController {
+
+    private final NewsSearchService newsSearchService;
+
+    public NewsSearchController(NewsSearchService newsSearchService) {
+        this.newsSearchService = newsSearchService;
+    }
+
+    /**
+     * 全文搜索标题、摘要和正文，按相关度和发布时间排序
+     *
+     * GET /api/news/search?q=关键词&amp;category=tech&amp;cursor=...&amp;limit=10
+     */
+    @GetMapping("/search")
+    public Map<String, Object> search(@RequestParam("q") String keyword,
+                                      @RequestParam(value = "category", required = false) String category,
+                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return newsSearchService.search(keyword, category, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
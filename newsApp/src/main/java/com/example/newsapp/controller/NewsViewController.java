@@ -0,0 +1,50 @@
+package com.example.newsapp.controller;
+
+import com.example.newsapp.service.ReadCountService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 阅读数接口
+ *
+ * 浏览只在内存中累加，由 ReadCountService 定时批量写回数据库；数据库中的阅读数有缓存，浏览一般不查询数据库
+ */
+@RestController
+@RequestMapping("/api/news")
+public class NewsViewController {
+
+    private final ReadCountService readCountService;
+
+    public NewsViewController(ReadCountService readCountService) {
+        this.readCountService = readCountService;
+    }
+
+    /**
+     * 记录一次浏览，返回最新阅读数；新闻不存在时返回 404，不计数
+     */
+    @PostMapping("/{id}/view")
+    public ResponseEntity<Map<String, Object>> recordView(@PathVariable("id") long id) {
+        return toResponse(id, readCountService.recordView(id));
+    }
+
+    /**
+     * 查询阅读数（包含尚未写回数据库的浏览）
+     */
+    @GetMapping("/{id}/read-count")
+    public ResponseEntity<Map<String, Object>> readCount(@PathVariable("id") long id) {
+        return toResponse(id, readCountService.getReadCount(id));
+    }
+
+    private static ResponseEntity<Map<String, Object>> toResponse(long id, Long readCount) {
+        if (readCount == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("id", id, "readCount", readCount));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.newsapp.mapper;
+
+import java.util.Collection;
+
+/**
+ * NewsMapper.xml 参数检查（在 XML 中通过 &lt;bind&gt; 调用）
+ */
+public final class NewsMapperParams {
+
+    /** selectNewsByIds 一次最多查询的新闻数 */
+    public static final int MAX_BATCH_IDS = 100;
+
+    private NewsMapperParams() {
+    }
+
+    /**
+     * 检查批量查询的ID数量，超过上限时抛出异常（调用方应分批查询）
+     */
+    public static Collection<?> checkIds(Collection<?> ids) {
+        if (ids != null && ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("一次最多查询 " + MAX_BATCH_IDS + " 条新闻，实际 " + ids.size() + " 条");
+        }
+        return ids;
+    }
+}
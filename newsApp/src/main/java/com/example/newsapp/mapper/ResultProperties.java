@@ -0,0 +1,55 @@
+package com.example.newsapp.mapper;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 读取 NewsMapper 查询结果和参数的属性（实体对象或 Map 都可以，与 MyBatis 的属性访问规则一致）
+ */
+public final class ResultProperties {
+
+    private ResultProperties() {
+    }
+
+    /**
+     * 读取属性，对象为 null 或没有该属性时返回 null
+     */
+    public static Object get(Object target, String name) {
+        if (target == null) {
+            return null;
+        }
+        if (target instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) target;
+            return map.containsKey(name) ? map.get(name) : null;
+        }
+        MetaObject meta = SystemMetaObject.forObject(target);
+        return meta.hasGetter(name) ? meta.getValue(name) : null;
+    }
+
+    /**
+     * 读取数字属性（如 ID），不是数字时返回 null
+     */
+    public static Long getLong(Object target, String name) {
+        Object value = get(target, name);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    /**
+     * 读取时间属性（DATETIME 列映射为 LocalDateTime 或 Date），转换为 LocalDateTime
+     */
+    public static LocalDateTime getDateTime(Object target, String name) {
+        Object value = get(target, name);
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        if (value instanceof Date) {
+            return LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+        }
+        return null;
+    }
+}
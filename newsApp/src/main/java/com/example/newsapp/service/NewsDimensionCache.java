@@ -0,0 +1,231 @@
+package com.example.newsapp.service;
+
+import com.example.newsapp.config.FeedCacheInterceptor;
+import com.example.newsapp.mapper.ResultProperties;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 分类、用户维度缓存
+ *
+ * 列表、搜索、批量查询只读取 news 表（不再 JOIN category / user），
+ * 分类名称、分类代码、作者昵称和头像在这里按 categoryId / userId 填充到返回的新闻中：
+ * - 第一次使用时加载，之后每隔 news.dimension-cache.refresh-interval-ms（默认 30 秒）
+ *   查询一次 selectDimensionVersion（分类表、用户表的行数和最后修改时间），版本变化时重新加载
+ * - 重新加载时整体替换为新的快照，读取不加锁
+ * - 分类代码解析为分类ID只查内存，未知的分类代码直接返回 null，不访问数据库
+ */
+@Service
+public class NewsDimensionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsDimensionCache.class);
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    private final SqlSession sqlSession;
+
+    /** 维度数据变化时的回调（如列表缓存清除分类代码映射） */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot;
+
+    public NewsDimensionCache(SqlSession sqlSession) {
+        this.sqlSession = sqlSession;
+    }
+
+    /**
+     * 分类表变化时列表缓存重新加载分类代码映射
+     */
+    @Autowired
+    public NewsDimensionCache(SqlSession sqlSession, FeedCacheInterceptor feedCacheInterceptor) {
+        this(sqlSession);
+        addChangeListener(feedCacheInterceptor::reloadCategories);
+    }
+
+    /**
+     * 检查维度数据版本，变化时重新加载（定时执行）
+     */
+    @Scheduled(fixedDelayString = "${news.dimension-cache.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            String version = sqlSession.selectOne(NAMESPACE + "selectDimensionVersion");
+            Snapshot current = snapshot;
+            if (current == null || !Objects.equals(current.version, version)) {
+                reload(version);
+            }
+        } catch (RuntimeException e) {
+            // 数据库暂时不可用时继续使用旧的快照，下次定时任务重试
+            log.warn("维度缓存刷新失败：{}", e.getMessage());
+        }
+    }
+
+    private synchronized void reload(String version) {
+        Snapshot previous = snapshot;
+        if (previous != null && Objects.equals(previous.version, version)) {
+            return;
+        }
+        snapshot = new Snapshot(version,
+                sqlSession.selectList(NAMESPACE + "selectCategoryList"),
+                sqlSession.selectList(NAMESPACE + "selectUserList"));
+        log.info("维度缓存已加载：{} 个分类，{} 个用户", snapshot.categories.size(), snapshot.users.size());
+        if (previous != null) {
+            changeListeners.forEach(Runnable::run);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+            if (current == null) {
+                throw new IllegalStateException("维度缓存加载失败");
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 维度数据变化（重新加载）后执行回调
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * 分类代码 → 分类ID
+     *
+     * @return 分类ID，分类代码为空或不存在时返回 null
+     */
+    public Long categoryId(String categoryCode) {
+        if (categoryCode == null || categoryCode.isEmpty()) {
+            return null;
+        }
+        return snapshot().categoryIdsByCode.get(categoryCode);
+    }
+
+    /**
+     * 分类ID → 分类代码，不存在时返回 null
+     */
+    public String categoryCode(Long categoryId) {
+        Map<String, Object> category = categoryId == null ? null : snapshot().categories.get(categoryId);
+        return category == null ? null : (String) category.get("code");
+    }
+
+    /**
+     * 全部分类ID（按分类排序）
+     */
+    public List<Long> categoryIds() {
+        return new ArrayList<>(snapshot().categories.keySet());
+    }
+
+    /**
+     * 用户是否存在
+     */
+    public boolean hasUser(Long userId) {
+        return userId != null && snapshot().users.containsKey(userId);
+    }
+
+    /**
+     * 把查询结果（NewsSummaryResultMap / NewsBaseResultMap）转换为接口返回的新闻，填充分类和作者信息
+     */
+    public List<Map<String, Object>> toItems(List<?> newsList) {
+        Snapshot current = snapshot();
+        List<Map<String, Object>> items = new ArrayList<>(newsList.size());
+        for (Object news : newsList) {
+            items.add(toItem(current, news));
+        }
+        return items;
+    }
+
+    /**
+     * 转换单条新闻，见 toItems
+     */
+    public Map<String, Object> toItem(Object news) {
+        return toItem(snapshot(), news);
+    }
+
+    private static Map<String, Object> toItem(Snapshot snapshot, Object news) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String property : ITEM_PROPERTIES) {
+            item.put(property, ResultProperties.get(news, property));
+        }
+        Long categoryId = ResultProperties.getLong(news, "categoryId");
+        Map<String, Object> category = categoryId == null ? null : snapshot.categories.get(categoryId);
+        item.put("categoryId", categoryId);
+        item.put("categoryCode", category == null ? null : category.get("code"));
+        item.put("categoryName", category == null ? null : category.get("name"));
+        Long userId = ResultProperties.getLong(news, "userId");
+        Map<String, Object> user = userId == null ? null : snapshot.users.get(userId);
+        item.put("userId", userId);
+        item.put("author", user == null ? null : user.get("nickname"));
+        item.put("authorAvatar", user == null ? null : user.get("avatar"));
+        return item;
+    }
+
+    /** 列表卡片显示的新闻字段（与 NewsSummaryResultMap 一致） */
+    private static final List<String> ITEM_PROPERTIES = List.of(
+            "id", "title", "summary", "imageUrl", "imageUrl2", "imageUrl3", "mediaType",
+            "videoUrl", "videoDuration", "videoCoverUrl", "publishTime", "readCount");
+
+    /**
+     * 某一版本的分类和用户数据（加载后不再修改）
+     */
+    private static final class Snapshot {
+        final String version;
+        /** 分类ID → {id, name, code}，按分类排序 */
+        final Map<Long, Map<String, Object>> categories;
+        final Map<String, Long> categoryIdsByCode;
+        /** 用户ID → {id, username, nickname, avatar} */
+        final Map<Long, Map<String, Object>> users;
+
+        Snapshot(String version, List<Object> categoryRows, List<Object> userRows) {
+            this.version = version;
+            Map<Long, Map<String, Object>> categories = new LinkedHashMap<>();
+            Map<String, Long> codes = new HashMap<>();
+            for (Object row : categoryRows) {
+                Long id = ResultProperties.getLong(row, "id");
+                Object code = ResultProperties.get(row, "code");
+                if (id == null) {
+                    continue;
+                }
+                categories.put(id, dimension(row, id, "name", "code"));
+                if (code instanceof String) {
+                    codes.put((String) code, id);
+                }
+            }
+            Map<Long, Map<String, Object>> users = new HashMap<>();
+            for (Object row : userRows) {
+                Long id = ResultProperties.getLong(row, "id");
+                if (id != null) {
+                    users.put(id, dimension(row, id, "username", "nickname", "avatar"));
+                }
+            }
+            this.categories = Collections.unmodifiableMap(categories);
+            this.categoryIdsByCode = Collections.unmodifiableMap(codes);
+            this.users = Collections.unmodifiableMap(users);
+        }
+
+        private static Map<String, Object> dimension(Object row, Long id, String... properties) {
+            Map<String, Object> values = new HashMap<>();
+            values.put("id", id);
+            for (String property : properties) {
+                values.put(property, ResultProperties.get(row, property));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.newsapp.service;
+
+import com.example.newsapp.config.FeedCacheInterceptor;
+import com.example.newsapp.config.NewsWriteListener;
+import com.example.newsapp.mapper.ResultProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 新发布新闻推送（Server-Sent Events）
+ *
+ * 客户端订阅 GET /api/news/stream?category=tech，新闻提交后收到 news 事件（与列表相同的摘要格式），
+ * 直接插入列表顶部，不需要下拉刷新重新下载第一页：
+ * - 通过 FeedCacheInterceptor 的写入回调接收 insertNews / batchInsertNews，事务提交后才推送，回滚的新闻不会推送
+ * - 订阅者按分类分组（不带分类的订阅全部新闻），一条新闻只推送给它的分类和全部新闻的订阅者
+ * - 每个订阅者一个有界缓冲（news.stream.buffer-size，默认 32 条），发送跟不上时丢弃最旧的事件，
+ *   慢客户端不会拖慢写入也不会无限占用内存；丢失的新闻可以用 /api/news/changes 补齐
+ * - 发送由少量共享线程完成（news.stream.sender-threads，默认 2），空闲连接是 Servlet 异步请求，不占用线程
+ * - 每隔 news.stream.heartbeat-ms（默认 15 秒）向空闲的订阅者发送注释行心跳，及时清理断开的连接，
+ *   也避免代理因空闲超时断开
+ * - 订阅数上限 news.stream.max-subscribers（默认 20000），超出时拒绝订阅；
+ *   连接在 news.stream.timeout-ms（默认 30 分钟）后结束，客户端重新订阅
+ */
+@Service
+public class NewsEventHub implements NewsWriteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsEventHub.class);
+
+    /** 订阅全部新闻的分组（分类ID从 1 开始） */
+    private static final long ALL_CATEGORIES = 0L;
+
+    /** 心跳事件（只在缓冲为空时加入，不会挤掉新闻事件） */
+    private static final Object HEARTBEAT = new Object();
+
+    private final NewsDimensionCache dimensionCache;
+    private final Executor sender;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    /** 分类ID（全部新闻为 0）→ 订阅者 */
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @Autowired
+    public NewsEventHub(NewsDimensionCache dimensionCache, FeedCacheInterceptor feedCacheInterceptor,
+                        @Value("${news.stream.sender-threads:2}") int senderThreads,
+                        @Value("${news.stream.buffer-size:32}") int bufferSize,
+                        @Value("${news.stream.max-subscribers:20000}") int maxSubscribers,
+                        @Value("${news.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this(dimensionCache, Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "news-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        }), bufferSize, maxSubscribers, timeoutMillis);
+        feedCacheInterceptor.addWriteListener(this);
+    }
+
+    NewsEventHub(NewsDimensionCache dimensionCache, Executor sender, int bufferSize, int maxSubscribers,
+                 long timeoutMillis) {
+        this.dimensionCache = dimensionCache;
+        this.sender = sender;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 订阅新发布的新闻
+     *
+     * @param categoryCode 分类代码（null 表示全部分类）
+     * @throws IllegalArgumentException 分类不存在
+     * @throws IllegalStateException 订阅数已达上限
+     */
+    public SseEmitter subscribe(String categoryCode) {
+        Long categoryId = null;
+        if (categoryCode != null && !categoryCode.isEmpty()) {
+            categoryId = dimensionCache.categoryId(categoryCode);
+            if (categoryId == null) {
+                throw new IllegalArgumentException("分类不存在：" + categoryCode);
+            }
+        }
+        return subscribe(categoryId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long categoryId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("订阅数已达上限");
+        }
+        Subscriber subscriber = new Subscriber(categoryId == null ? ALL_CATEGORIES : categoryId, emitter);
+        subscribers.computeIfAbsent(subscriber.group, group -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> group = subscribers.get(subscriber.group);
+        if (group != null && group.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 新闻提交后推送（在写入线程上调用，转换和发送都交给发送线程）
+     */
+    @Override
+    public void newsInserted(List<Object> newsList) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        sender.execute(() -> {
+            try {
+                for (Object news : newsList) {
+                    publish(ResultProperties.getLong(news, "categoryId"), toEvent(news));
+                }
+            } catch (RuntimeException e) {
+                log.warn("推送新发布的新闻失败：{}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 插入参数转换为列表格式的新闻；数据库默认值（发布时间、阅读数）参数中没有，按默认值补上
+     */
+    private Map<String, Object> toEvent(Object news) {
+        Map<String, Object> item = dimensionCache.toItem(news);
+        if (item.get("publishTime") == null) {
+            item.put("publishTime", LocalDateTime.now());
+        }
+        if (item.get("readCount") == null) {
+            item.put("readCount", 0);
+        }
+        if (item.get("mediaType") == null) {
+            item.put("mediaType", "single_image");
+        }
+        return item;
+    }
+
+    private void publish(Long categoryId, Map<String, Object> item) {
+        published.increment();
+        offer(subscribers.get(ALL_CATEGORIES), item);
+        if (categoryId != null) {
+            offer(subscribers.get(categoryId), item);
+        }
+    }
+
+    private void offer(Set<Subscriber> group, Object event) {
+        if (group == null) {
+            return;
+        }
+        for (Subscriber subscriber : group) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Object event) {
+        synchronized (subscriber) {
+            if (event == HEARTBEAT && (subscriber.draining || !subscriber.buffer.isEmpty())) {
+                return;
+            }
+            if (subscriber.buffer.size() >= bufferSize) {
+                subscriber.buffer.pollFirst();
+                dropped.increment();
+            }
+            subscriber.buffer.addLast(event);
+            if (subscriber.draining) {
+                return;
+            }
+            subscriber.draining = true;
+        }
+        sender.execute(() -> drain(subscriber));
+    }
+
+    /**
+     * 依次发送订阅者缓冲中的事件，同一订阅者同时只有一个发送任务
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Object event;
+            synchronized (subscriber) {
+                event = subscriber.buffer.pollFirst();
+                if (event == null) {
+                    subscriber.draining = false;
+                    return;
+                }
+            }
+            try {
+                subscriber.emitter.send(event == HEARTBEAT
+                        ? SseEmitter.event().comment("ping")
+                        : SseEmitter.event().name("news").data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 连接已断开或已结束：由容器结束异步请求，这里只移除订阅者
+                remove(subscriber);
+                synchronized (subscriber) {
+                    subscriber.buffer.clear();
+                    subscriber.draining = false;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 向空闲的订阅者发送心跳（定时执行）
+     */
+    @Scheduled(fixedRateString = "${news.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(group -> offer(group, HEARTBEAT));
+    }
+
+    /**
+     * 应用关闭时结束全部连接
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+        if (sender instanceof ExecutorService) {
+            ((ExecutorService) sender).shutdownNow();
+        }
+    }
+
+    /**
+     * 推送统计：订阅数、推送的新闻数、因缓冲已满丢弃的事件数
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriberCount.get());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("bufferSize", bufferSize);
+        stats.put("published", published.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+
+    private static final class Subscriber {
+        final long group;
+        final SseEmitter emitter;
+        /** 待发送的事件，访问时需要持有订阅者的锁 */
+        final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        /** 是否已有发送任务 */
+        boolean draining;
+
+        Subscriber(long group, SseEmitter emitter) {
+            this.group = group;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.newsapp.service;
+
+import com.example.newsapp.mapper.NewsMapperParams;
+import com.example.newsapp.mapper.ResultProperties;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 新闻列表读取接口的查询和组装
+ *
+ * 查询只读取 news 表的摘要字段（NewsSummaryResultMap），
+ * 返回前由 NewsDimensionCache 填充分类和作者信息。
+ *
+ * 分页结果格式为 {items, hasMore, nextCursor, serverTimeMs}：多查询一条（limit + 1）判断 hasMore；
+ * 游标为本页最后一条的 (publish_time, id)，Base64 编码后交给客户端原样传回。
+ */
+@Service
+public class NewsFeedService {
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final SqlSession sqlSession;
+    private final NewsDimensionCache dimensionCache;
+
+    public NewsFeedService(SqlSession sqlSession, NewsDimensionCache dimensionCache) {
+        this.sqlSession = sqlSession;
+        this.dimensionCache = dimensionCache;
+    }
+
+    /**
+     * 按ID批量查询新闻摘要（一次查询）
+     *
+     * @param ids 新闻ID（重复的只查一次），最多 NewsMapperParams.MAX_BATCH_IDS（100）个
+     * @return 新闻ID → 新闻，按请求的顺序；不存在的新闻不返回
+     * @throws IllegalArgumentException ID 数量超过上限
+     */
+    public Map<Long, Map<String, Object>> batch(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > NewsMapperParams.MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("一次最多查询 " + NewsMapperParams.MAX_BATCH_IDS + " 条新闻");
+        }
+        Map<Long, Map<String, Object>> result = new LinkedHashMap<>();
+        if (uniqueIds.isEmpty()) {
+            return result;
+        }
+
+        Map<Object, Object> newsById = sqlSession.selectMap(NAMESPACE + "selectNewsByIds",
+                Map.of("ids", new ArrayList<>(uniqueIds)), "id");
+        for (Long id : uniqueIds) {
+            Object news = newsById.get(id);
+            if (news != null) {
+                result.put(id, dimensionCache.toItem(news));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 分页查询新闻列表（v2 响应格式）
+     *
+     * @param categoryCode 分类代码（null 表示全部分类，不存在的分类返回空页）
+     * @param offset 偏移量（有游标时忽略）
+     * @param cursor 上一页返回的游标（null 表示按 offset 分页）
+     * @param limit 每页数量（1 ~ 50）
+     * @return {items, hasMore, nextCursor, serverTimeMs}
+     * @throws IllegalArgumentException 游标无效或偏移量为负数
+     */
+    public Map<String, Object> list(String categoryCode, Integer offset, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        Map<String, Object> params = new HashMap<>();
+        params.put("limit", pageSize + 1);
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            params.put("cursorTime", LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[0])),
+                    ZoneId.systemDefault()));
+            params.put("cursorId", Long.parseLong(parts[1]));
+        } else if (offset != null) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("offset 不能为负数");
+            }
+            params.put("offset", offset);
+        }
+        if (categoryCode != null && !categoryCode.isEmpty()) {
+            Long categoryId = dimensionCache.categoryId(categoryCode);
+            if (categoryId == null) {
+                return page(List.of(), pageSize);
+            }
+            params.put("categoryId", categoryId);
+        }
+
+        List<Object> rows = sqlSession.selectList(NAMESPACE + "selectNewsSummaryList", params);
+        return page(rows, pageSize);
+    }
+
+    /**
+     * 首页快照：一次查询返回每个分类的第一页
+     *
+     * @param limit 每个分类的数量（1 ~ 50）
+     * @return 分类代码 → 该分类第一页的分页结果（按分类排序，没有新闻的分类返回空页）
+     */
+    public Map<String, Map<String, Object>> home(Integer limit) {
+        int pageSize = pageSize(limit);
+        List<Long> categoryIds = dimensionCache.categoryIds();
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        if (categoryIds.isEmpty()) {
+            return snapshot;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("categoryIds", categoryIds);
+        params.put("limit", pageSize + 1);
+        List<Object> rows = sqlSession.selectList(NAMESPACE + "selectHomeSnapshot", params);
+
+        Map<Long, List<Object>> rowsByCategory = new HashMap<>();
+        for (Object row : rows) {
+            rowsByCategory.computeIfAbsent(ResultProperties.getLong(row, "categoryId"), id -> new ArrayList<>())
+                    .add(row);
+        }
+        for (Long categoryId : categoryIds) {
+            String code = dimensionCache.categoryCode(categoryId);
+            if (code != null) {
+                snapshot.put(code, page(rowsByCategory.getOrDefault(categoryId, List.of()), pageSize));
+            }
+        }
+        return snapshot;
+    }
+
+    static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * 把多查询一条的结果组装为分页结果（rows 可能是缓存的共享列表，不修改它）
+     */
+    private Map<String, Object> page(List<?> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<?> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", dimensionCache.toItems(pageRows));
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", hasMore ? encodeCursor(pageRows.get(pageRows.size() - 1)) : null);
+        page.put("serverTimeMs", System.currentTimeMillis());
+        return page;
+    }
+
+    static String encodeCursor(Object lastNews) {
+        LocalDateTime publishTime = ResultProperties.getDateTime(lastNews, "publishTime");
+        Long id = ResultProperties.getLong(lastNews, "id");
+        if (publishTime == null || id == null) {
+            return null;
+        }
+        String value = publishTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            Long.parseLong(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标", e);
+        }
+    }
+}
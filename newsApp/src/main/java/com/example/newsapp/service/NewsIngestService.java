@@ -0,0 +1,231 @@
+package com.example.newsapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 新闻批量导入
+ *
+ * 编辑导入一次推送上千条新闻：
+ * - 请求体为 JSON 数组，边读边处理，一次只在内存中保留一批新闻
+ * - 每条新闻单独校验（标题、分类、作者、媒体类型等），不合格的跳过并记录原因，不影响其他新闻
+ * - 合格的新闻每 news.ingest.batch-size（默认 500）条用一条多行 INSERT（batchInsertNews）写入，
+ *   每批一个事务：某一批失败只回滚这一批，之前提交的批次保留
+ * - 返回每条新闻的结果（插入的ID或失败原因）
+ */
+@Service
+public class NewsIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsIngestService.class);
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    static final int MAX_TITLE_LENGTH = 200;
+    static final int MAX_URL_LENGTH = 255;
+
+    private static final Set<String> MEDIA_TYPES = Set.of("single_image", "multi_image", "video");
+
+    private static final DateTimeFormatter PUBLISH_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final SqlSession sqlSession;
+    private final NewsDimensionCache dimensionCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public NewsIngestService(SqlSession sqlSession, NewsDimensionCache dimensionCache, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${news.ingest.batch-size:500}") int batchSize) {
+        this.sqlSession = sqlSession;
+        this.dimensionCache = dimensionCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 导入新闻
+     *
+     * @param body JSON 数组，每个元素为一条新闻：
+     *             {title, summary, content, imageUrl, imageUrl2, imageUrl3, mediaType, videoUrl, videoDuration,
+     *             videoCoverUrl, categoryId 或 category（分类代码）, userId, publishTime}
+     * @return {inserted, rejected, failed, results, error}，results 中每条为 {index, status, id, error}
+     * @throws IllegalArgumentException 请求体不是 JSON 数组
+     */
+    public Map<String, Object> ingest(InputStream body) throws IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<Map<String, Object>> chunk = new ArrayList<>(batchSize);
+        List<Map<String, Object>> chunkResults = new ArrayList<>(batchSize);
+        String error = null;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("请求体应为新闻数组");
+            }
+            int index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("请求体应为新闻数组");
+                }
+                JsonNode item = parser.readValueAsTree();
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("index", index++);
+                results.add(result);
+                Map<String, Object> news = new HashMap<>();
+                String problem = item != null && item.isObject() ? validate(item, news) : "不是新闻对象";
+                if (problem != null) {
+                    reject(result, problem);
+                    continue;
+                }
+                chunk.add(news);
+                chunkResults.add(result);
+                if (chunk.size() >= batchSize) {
+                    insertChunk(chunk, chunkResults);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // JSON 格式错误：之前读到的完整新闻照常处理，之后的内容无法解析
+            error = "JSON 格式错误：" + e.getOriginalMessage();
+        }
+        insertChunk(chunk, chunkResults);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("inserted", count(results, "inserted"));
+        report.put("rejected", count(results, "rejected"));
+        report.put("failed", count(results, "failed"));
+        report.put("results", results);
+        report.put("error", error);
+        return report;
+    }
+
+    /**
+     * 一批新闻在一个事务中用一条多行 INSERT 写入，失败时这一批都标记为失败
+     */
+    private void insertChunk(List<Map<String, Object>> chunk, List<Map<String, Object>> chunkResults) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> sqlSession.insert(NAMESPACE + "batchInsertNews", chunk));
+            for (int i = 0; i < chunk.size(); i++) {
+                chunkResults.get(i).put("status", "inserted");
+                chunkResults.get(i).put("id", chunk.get(i).get("id"));
+            }
+        } catch (RuntimeException e) {
+            log.warn("批量导入 {} 条新闻失败：{}", chunk.size(), e.getMessage());
+            for (Map<String, Object> result : chunkResults) {
+                result.put("status", "failed");
+                result.put("error", "写入数据库失败");
+            }
+        }
+        chunk.clear();
+        chunkResults.clear();
+    }
+
+    /**
+     * 校验一条新闻并转换为 batchInsertNews 的参数，返回不合格的原因（合格时返回 null）
+     */
+    private String validate(JsonNode item, Map<String, Object> news) {
+        String title = text(item, "title");
+        if (title == null || title.isBlank()) {
+            return "标题不能为空";
+        }
+        if (title.codePointCount(0, title.length()) > MAX_TITLE_LENGTH) {
+            return "标题不能超过 " + MAX_TITLE_LENGTH + " 个字符";
+        }
+        news.put("title", title);
+        news.put("summary", text(item, "summary"));
+        news.put("content", text(item, "content"));
+
+        for (String property : List.of("imageUrl", "imageUrl2", "imageUrl3", "videoUrl", "videoCoverUrl")) {
+            String url = text(item, property);
+            if (url != null && url.length() > MAX_URL_LENGTH) {
+                return property + " 不能超过 " + MAX_URL_LENGTH + " 个字符";
+            }
+            news.put(property, url);
+        }
+
+        String mediaType = text(item, "mediaType");
+        if (mediaType != null && !MEDIA_TYPES.contains(mediaType)) {
+            return "不支持的媒体类型：" + mediaType;
+        }
+        if ("video".equals(mediaType) && news.get("videoUrl") == null) {
+            return "视频新闻缺少 videoUrl";
+        }
+        news.put("mediaType", mediaType);
+
+        JsonNode duration = item.get("videoDuration");
+        if (duration != null && !duration.isNull()) {
+            if (!duration.canConvertToInt() || duration.asInt() < 0) {
+                return "videoDuration 应为非负整数";
+            }
+            news.put("videoDuration", duration.asInt());
+        } else {
+            news.put("videoDuration", null);
+        }
+
+        Long categoryId = item.hasNonNull("categoryId") ? item.get("categoryId").asLong()
+                : dimensionCache.categoryId(text(item, "category"));
+        if (categoryId == null || dimensionCache.categoryCode(categoryId) == null) {
+            return "分类不存在";
+        }
+        news.put("categoryId", categoryId);
+
+        Long userId = item.hasNonNull("userId") ? item.get("userId").asLong() : null;
+        if (!dimensionCache.hasUser(userId)) {
+            return "作者不存在";
+        }
+        news.put("userId", userId);
+        news.put("readCount", null);
+
+        String publishTime = text(item, "publishTime");
+        try {
+            news.put("publishTime", publishTime == null ? null : parsePublishTime(publishTime));
+        } catch (DateTimeParseException e) {
+            return "发布时间格式应为 yyyy-MM-dd HH:mm:ss";
+        }
+        return null;
+    }
+
+    private static LocalDateTime parsePublishTime(String value) {
+        return value.indexOf('T') >= 0 ? LocalDateTime.parse(value) : LocalDateTime.parse(value, PUBLISH_TIME_FORMAT);
+    }
+
+    private static String text(JsonNode item, String property) {
+        JsonNode value = item.get(property);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static void reject(Map<String, Object> result, String reason) {
+        result.put("status", "rejected");
+        result.put("error", reason);
+    }
+
+    private static long count(List<Map<String, Object>> results, String status) {
+        return results.stream().filter(result -> status.equals(result.get("status"))).count();
+    }
+}
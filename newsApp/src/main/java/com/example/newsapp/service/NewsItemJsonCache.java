@@ -0,0 +1,192 @@
+package com.example.newsapp.service;
+
+import com.example.newsapp.config.FeedCacheInterceptor;
+import com.example.newsapp.config.NewsWriteListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 列表新闻的 JSON 片段缓存
+ *
+ * 新闻很少修改，列表响应却每次都把同样的新闻重新序列化一遍。这里按新闻ID缓存列表格式新闻（见
+ * NewsDimensionCache.toItem，目前只有这一种摘要格式）序列化后的 JSON 字节，v2 列表的 JSON 响应
+ * 直接把缓存的字节写到输出流，只序列化分页信息：
+ * - LRU 淘汰，条目数上限 news.item-json-cache.max-size（默认 10000），
+ *   过期时间 news.item-json-cache.ttl-seconds（默认 60 秒，与列表缓存一致，阅读数最多滞后一个过期时间）
+ * - updateNews / deleteNews 提交后通过 FeedCacheInterceptor 的写入回调清除该新闻，
+ *   分类、用户数据变化（维度缓存重新加载）时清除全部
+ * - 清除前开始的请求可能拿着旧数据，epoch() 在查询前取得，期间发生过清除时不写入缓存
+ * - 使用 Spring 的 ObjectMapper 序列化，与普通 JSON 响应的格式（日期等）一致；CBOR 响应不经过这里
+ */
+@Service
+public class NewsItemJsonCache implements NewsWriteListener {
+
+    private static final byte[] COMMA = {','};
+
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    /** LRU 顺序的缓存条目，访问时需要持有锁 */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    /** 每次清除加一 */
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public NewsItemJsonCache(ObjectMapper objectMapper,
+                             @Value("${news.item-json-cache.max-size:10000}") int maxSize,
+                             @Value("${news.item-json-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 新闻修改、删除后清除该新闻，分类、用户数据变化后清除全部
+     */
+    @Autowired
+    public NewsItemJsonCache(ObjectMapper objectMapper, NewsDimensionCache dimensionCache,
+                             FeedCacheInterceptor feedCacheInterceptor,
+                             @Value("${news.item-json-cache.max-size:10000}") int maxSize,
+                             @Value("${news.item-json-cache.ttl-seconds:60}") long ttlSeconds) {
+        this(objectMapper, maxSize, ttlSeconds);
+        feedCacheInterceptor.addWriteListener(this);
+        dimensionCache.addChangeListener(this::clear);
+    }
+
+    /**
+     * 当前的清除次数，在查询新闻之前取得，写入响应时传给 writePage
+     */
+    public long epoch() {
+        return invalidationEpoch.get();
+    }
+
+    /**
+     * 以 JSON 写出分页结果，items 中的新闻使用缓存的 JSON 片段，其他字段正常序列化
+     *
+     * @param page {items, hasMore, nextCursor, serverTimeMs}，字段按原顺序写出
+     * @param epoch 查询前 epoch() 的返回值
+     */
+    public void writePage(Map<String, Object> page, long epoch, OutputStream out) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<String, Object> field : page.entrySet()) {
+            if (!first) {
+                out.write(COMMA);
+            }
+            first = false;
+            out.write(objectMapper.writeValueAsBytes(field.getKey()));
+            out.write(':');
+            if ("items".equals(field.getKey()) && field.getValue() instanceof List) {
+                writeItems((List<?>) field.getValue(), epoch, out);
+            } else {
+                out.write(objectMapper.writeValueAsBytes(field.getValue()));
+            }
+        }
+        out.write('}');
+    }
+
+    private void writeItems(List<?> items, long epoch, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.write(COMMA);
+            }
+            Object item = items.get(i);
+            out.write(item instanceof Map ? itemBytes((Map<?, ?>) item, epoch) : objectMapper.writeValueAsBytes(item));
+        }
+        out.write(']');
+    }
+
+    /**
+     * 一条新闻的 JSON 字节（缓存的字节由所有请求共享，不能修改）
+     */
+    byte[] itemBytes(Map<?, ?> item, long epoch) throws IOException {
+        Object id = item.get("id");
+        if (!(id instanceof Number)) {
+            return objectMapper.writeValueAsBytes(item);
+        }
+        Long newsId = ((Number) id).longValue();
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(newsId);
+            if (entry != null && entry.expireAt > now) {
+                hits.increment();
+                return entry.bytes;
+            }
+        }
+        misses.increment();
+        byte[] bytes = objectMapper.writeValueAsBytes(item);
+        synchronized (entries) {
+            if (invalidationEpoch.get() == epoch) {
+                entries.put(newsId, new Entry(bytes, now + ttlMillis));
+                Iterator<Entry> iterator = entries.values().iterator();
+                while (entries.size() > maxSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public void newsChanged(Long newsId) {
+        synchronized (entries) {
+            invalidationEpoch.incrementAndGet();
+            entries.remove(newsId);
+        }
+    }
+
+    /**
+     * 清除全部条目
+     */
+    public void clear() {
+        synchronized (entries) {
+            invalidationEpoch.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * 缓存统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    private static final class Entry {
+        final byte[] bytes;
+        final long expireAt;
+
+        Entry(byte[] bytes, long expireAt) {
+            this.bytes = bytes;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 新闻全文搜索
+ *
+ * 先用 searchNewsIds 在 ft_news_text 全文索引中取出一页命中的 {id, rank_score}，
+ * 再用 selectNewsByIds 一次取出这些新闻，按排序分数返回（分类和作者由 NewsDimensionCache 填充）。
+ *
+ * 游标为上一页最后一条的 (rankTime, rank_score, id)，Base64 编码后交给客户端原样传回：
+ * 同一次搜索的所有页使用第一页确定的 rankTime，翻页时排序分数不变，不会重复或遗漏。
+ */
+@Service
+public class NewsSearchService {
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final SqlSession sqlSession;
+    private final NewsDimensionCache dimensionCache;
+
+    public NewsSearchService(SqlSession sqlSession, NewsDimensionCache dimensionCache) {
+        this.sqlSession = sqlSession;
+        this.dimensionCache = dimensionCache;
+    }
+
+    /**
+     * 搜索新闻
+     *
+     * @param keyword 关键词
+     * @param categoryCode 分类代码（null 表示全部分类，不存在的分类返回空结果）
+     * @param cursor 上一页返回的游标（null 表示第一页）
+     * @param limit 每页数量（1 ~ 50）
+     * @return {items, hasMore, nextCursor, serverTimeMs}，与列表接口的分页格式相同
+     * @throws IllegalArgumentException 关键词为空或游标无效
+     */
+    public Map<String, Object> search(String keyword, String categoryCode, String cursor, Integer limit) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("搜索关键词不能为空");
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("keyword", keyword.trim());
+        params.put("limit", pageSize + 1);
+        long rankTimeMs;
+        if (cursor == null || cursor.isEmpty()) {
+            rankTimeMs = System.currentTimeMillis();
+        } else {
+            String[] parts = decodeCursor(cursor);
+            rankTimeMs = Long.parseLong(parts[0]);
+            params.put("cursorScore", Double.parseDouble(parts[1]));
+            params.put("cursorId", Long.parseLong(parts[2]));
+        }
+        if (categoryCode != null && !categoryCode.isEmpty()) {
+            Long categoryId = dimensionCache.categoryId(categoryCode);
+            if (categoryId == null) {
+                return page(List.of(), false, null);
+            }
+            params.put("categoryId", categoryId);
+        }
+        params.put("rankTime", LocalDateTime.ofInstant(Instant.ofEpochMilli(rankTimeMs), ZoneId.systemDefault()));
+
+        List<Map<String, Object>> hits = sqlSession.selectList(NAMESPACE + "searchNewsIds", params);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, Object> hit : hits) {
+            ids.add(hit.get("id"));
+        }
+        Map<Object, Object> newsById = ids.isEmpty() ? Map.of()
+                : sqlSession.selectMap(NAMESPACE + "selectNewsByIds", Map.of("ids", ids), "id");
+
+        // 按排序分数返回（搜索到之后被删除的新闻跳过）
+        List<Object> found = new ArrayList<>();
+        for (Object id : ids) {
+            Object news = newsById.get(id);
+            if (news != null) {
+                found.add(news);
+            }
+        }
+
+        return page(found.isEmpty() ? List.of() : dimensionCache.toItems(found), hasMore,
+                hasMore ? encodeCursor(rankTimeMs, hits.get(hits.size() - 1)) : null);
+    }
+
+    private static Map<String, Object> page(List<?> items, boolean hasMore, String nextCursor) {
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", items);
+        page.put("hasMore", hasMore);
+        page.put("nextCursor", nextCursor);
+        page.put("serverTimeMs", System.currentTimeMillis());
+        return page;
+    }
+
+    private static String encodeCursor(long rankTimeMs, Map<String, Object> lastHit) {
+        Object score = lastHit.containsKey("rank_score") ? lastHit.get("rank_score") : lastHit.get("rankScore");
+        String value = rankTimeMs + ":" + ((Number) score).doubleValue() + ":" + lastHit.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            Long.parseLong(parts[0]);
+            Double.parseDouble(parts[1]);
+            Long.parseLong(parts[2]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标", e);
+        }
+    }
+}
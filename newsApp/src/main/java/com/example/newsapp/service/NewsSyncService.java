@@ -0,0 +1,148 @@
+package com.example.newsapp.service;
+
+import com.example.newsapp.mapper.ResultProperties;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 增量同步：返回某个同步点之后新增、修改和删除的新闻
+ *
+ * 一次同步从上次的同步点 from 开始，截止到本次第一页请求时的整秒 until（之后的变更留给下次同步）：
+ * - 第一页返回 [from, until) 内删除或移出该分类的新闻ID（deletedIds），客户端先删除，再写入各页的 upserts
+ * - 新增、修改的新闻（upserts）按 (update_time, id) 分页，多查询一条判断 hasMore
+ * - 最后一页的 nextCursor 是下次同步的起点（until）
+ * 同步点早于删除日志的保留期（30 天）或不传 since 时返回 reset = true，客户端需要重新加载列表，
+ * 之后用返回的 nextCursor 继续增量同步。
+ */
+@Service
+public class NewsSyncService {
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 200;
+
+    /** 删除日志的保留期（与 evt_purge_news_deletion_log 一致） */
+    static final Duration DELETION_LOG_RETENTION = Duration.ofDays(30);
+
+    private final SqlSession sqlSession;
+    private final NewsDimensionCache dimensionCache;
+
+    public NewsSyncService(SqlSession sqlSession, NewsDimensionCache dimensionCache) {
+        this.sqlSession = sqlSession;
+        this.dimensionCache = dimensionCache;
+    }
+
+    /**
+     * 查询变更
+     *
+     * @param categoryCode 分类代码（null 表示全部分类）
+     * @param since 上次同步返回的 nextCursor（null 表示没有同步点）
+     * @param limit 每页数量（1 ~ 200）
+     * @return {upserts, deletedIds, hasMore, nextCursor, reset, serverTimeMs}
+     * @throws IllegalArgumentException 游标无效或分类不存在
+     */
+    public Map<String, Object> changes(String categoryCode, String since, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Long categoryId = null;
+        if (categoryCode != null && !categoryCode.isEmpty()) {
+            categoryId = dimensionCache.categoryId(categoryCode);
+            if (categoryId == null) {
+                throw new IllegalArgumentException("分类不存在：" + categoryCode);
+            }
+        }
+
+        long nowMs = System.currentTimeMillis();
+        long[] cursor = since == null || since.isEmpty() ? null : decodeCursor(since);
+        if (cursor == null || cursor[0] < nowMs - DELETION_LOG_RETENTION.toMillis()) {
+            long syncPoint = nowMs / 1000 * 1000;
+            return result(List.of(), List.of(), false, encodeCursor(syncPoint, syncPoint, 0, 0), true);
+        }
+
+        long from = cursor[0];
+        long until = cursor[3];
+        List<Object> deletedIds = List.of();
+        Map<String, Object> params = new HashMap<>();
+        params.put("categoryId", categoryId);
+        if (until == 0) {
+            // 新的一次同步：确定截止时间，返回这段时间内的删除
+            until = nowMs / 1000 * 1000;
+            params.put("sinceTime", toDateTime(from));
+            params.put("untilTime", toDateTime(until));
+            deletedIds = sqlSession.selectList(NAMESPACE + "selectNewsDeletedSince", params);
+        } else {
+            params.put("sinceTime", toDateTime(cursor[1]));
+            params.put("sinceId", cursor[2]);
+            params.put("untilTime", toDateTime(until));
+        }
+        params.put("limit", pageSize + 1);
+
+        List<Object> rows = sqlSession.selectList(NAMESPACE + "selectNewsChangedSince", params);
+        boolean hasMore = rows.size() > pageSize;
+        List<Object> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor;
+        if (hasMore) {
+            Object last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encodeCursor(from, toMillis(ResultProperties.getDateTime(last, "updateTime")),
+                    ResultProperties.getLong(last, "id"), until);
+        } else {
+            nextCursor = encodeCursor(until, until, 0, 0);
+        }
+        return result(dimensionCache.toItems(pageRows), deletedIds, hasMore, nextCursor, false);
+    }
+
+    private static Map<String, Object> result(List<?> upserts, List<?> deletedIds, boolean hasMore,
+                                              String nextCursor, boolean reset) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("upserts", upserts);
+        result.put("deletedIds", deletedIds);
+        result.put("hasMore", hasMore);
+        result.put("nextCursor", nextCursor);
+        result.put("reset", reset);
+        result.put("serverTimeMs", System.currentTimeMillis());
+        return result;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 游标：同步起点 from、本页最后一条的 (update_time, id)、截止时间 until（0 表示新的一次同步）
+     */
+    private static String encodeCursor(long from, long afterTime, long afterId, long until) {
+        String value = from + ":" + afterTime + ":" + afterId + ":" + until;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("无效的同步游标");
+            }
+            long[] values = new long[4];
+            for (int i = 0; i < 4; i++) {
+                values[i] = Long.parseLong(parts[i]);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的同步游标", e);
+        }
+    }
+}
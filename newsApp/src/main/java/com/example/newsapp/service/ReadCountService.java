@@ -0,0 +1,312 @@
+package com.example.newsapp.service;
+
+import com.example.newsapp.config.FeedCacheInterceptor;
+import com.example.newsapp.config.NewsWriteListener;
+import com.example.newsapp.mapper.ResultProperties;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 阅读数累计服务（写回式）
+ *
+ * 每次浏览只在内存中累加，不再每次执行一条 UPDATE：
+ * - 每篇新闻一个 LongAdder（内部分段计数），热门新闻的并发浏览不会争抢同一把锁
+ * - 每隔 news.read-count.flush-interval-ms（默认 5 秒）和应用关闭时，
+ *   用一条 incrementReadCounts 语句把累计的增量批量写回数据库
+ * - 读取阅读数时合并数据库中的值和尚未写回的增量，返回的数字只增不减
+ *
+ * 每次刷盘时换上新的计数表，旧表在下一次刷盘时再汇总一次，
+ * 刷盘瞬间仍在写旧表的浏览不会丢失。
+ *
+ * 数据库中的阅读数（基数）缓存在内存中，浏览和查询只在未命中时查询一次数据库：
+ * - LRU 淘汰，条目数上限 news.read-count.base-cache-size（默认 100000），
+ *   过期时间 news.read-count.base-ttl-ms（默认 5 分钟）；不存在的新闻也缓存，浏览不存在的新闻不计数
+ * - 刷盘写入成功后把增量加到缓存的基数上，不需要重新查询
+ * - 新增、修改、删除新闻提交后清除对应的基数（修改可能直接设置阅读数）
+ * - 查询数据库和写回数据库都不持有状态锁，锁内只有内存操作：
+ *   刷盘在锁内交换计数表并把增量记为"写入中"，写库期间读取照常合并写入中的增量；
+ *   未命中时查询期间发生过刷盘或清除则重新查询，写入中的新闻等写完再查询，不会重复或漏算增量
+ */
+@Service
+public class ReadCountService implements NewsWriteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadCountService.class);
+
+    private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+    /** 一条 UPDATE 语句最多更新的新闻数 */
+    static final int FLUSH_BATCH_SIZE = 500;
+
+    /** 未命中时查询数据库的最多次数（期间一直有刷盘时放弃缓存，直接返回结果） */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    /** 等待写入中的增量写完的最长时间 */
+    private static final long WRITE_WAIT_MILLIS = 1000;
+
+    private final SqlSession sqlSession;
+    private final int baseCacheSize;
+    private final long baseTtlMillis;
+
+    /** 当前接收浏览的计数表 */
+    private final AtomicReference<ConcurrentHashMap<Long, LongAdder>> current =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+
+    /** 上一次刷盘时换下的计数表（下一次刷盘时再汇总一次），只在持有 stateLock 时替换 */
+    private volatile ConcurrentHashMap<Long, LongAdder> previous = new ConcurrentHashMap<>();
+
+    /** 保护 baseCounts、writing、generation 以及计数表的交换和汇总，锁内不访问数据库 */
+    private final Object stateLock = new Object();
+
+    /** 新闻ID → 数据库中的阅读数，LRU 顺序 */
+    private final LinkedHashMap<Long, BaseCount> baseCounts = new LinkedHashMap<>(256, 0.75f, true);
+
+    /** 正在写回数据库的增量 */
+    private Map<Long, Long> writing = Map.of();
+
+    /** 数据库中的阅读数与缓存可能不一致的变化次数（开始、结束写库，清除基数时加一） */
+    private long generation;
+
+    /** 同一时间只有一次刷盘（定时刷盘和关闭时刷盘） */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ReadCountService(SqlSession sqlSession, int baseCacheSize, long baseTtlMillis) {
+        this.sqlSession = sqlSession;
+        this.baseCacheSize = baseCacheSize;
+        this.baseTtlMillis = baseTtlMillis;
+    }
+
+    /**
+     * 新闻新增、修改、删除后清除缓存的基数
+     */
+    @Autowired
+    public ReadCountService(SqlSession sqlSession, FeedCacheInterceptor feedCacheInterceptor,
+                            @Value("${news.read-count.base-cache-size:100000}") int baseCacheSize,
+                            @Value("${news.read-count.base-ttl-ms:300000}") long baseTtlMillis) {
+        this(sqlSession, baseCacheSize, baseTtlMillis);
+        feedCacheInterceptor.addWriteListener(this);
+    }
+
+    /**
+     * 记录一次浏览（基数已缓存时只在内存中累加，不访问数据库）
+     *
+     * @return 包含这次浏览的阅读数，新闻不存在时返回 null（不计数）
+     */
+    public Long recordView(long newsId) {
+        Long readCount = getReadCount(newsId);
+        if (readCount == null) {
+            return null;
+        }
+        ConcurrentHashMap<Long, LongAdder> counters = current.get();
+        LongAdder counter = counters.get(newsId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(newsId, id -> new LongAdder());
+        }
+        counter.increment();
+        return readCount + 1;
+    }
+
+    /**
+     * 查询阅读数：数据库中的值 + 尚未写回的增量
+     *
+     * @return 阅读数，新闻不存在时返回 null
+     */
+    public Long getReadCount(long newsId) {
+        for (int attempt = 1; ; attempt++) {
+            long seen;
+            synchronized (stateLock) {
+                BaseCount base = baseCounts.get(newsId);
+                if (base != null && base.expireAt > System.currentTimeMillis()) {
+                    return base.stored == null ? null : base.stored + pendingDelta(newsId);
+                }
+                awaitWrite(newsId);
+                seen = generation;
+            }
+
+            Integer stored = sqlSession.selectOne(NAMESPACE + "selectReadCount", newsId);
+
+            synchronized (stateLock) {
+                if (generation == seen) {
+                    putBase(newsId, stored == null ? null : stored.longValue());
+                } else if (attempt < MAX_LOAD_ATTEMPTS) {
+                    // 查询期间开始或结束了写库，读到的值可能包含也可能不包含写入中的增量
+                    continue;
+                }
+                return stored == null ? null : stored + pendingDelta(newsId);
+            }
+        }
+    }
+
+    /**
+     * 等待该新闻写入中的增量写完（持有 stateLock 时调用，等待期间释放锁）
+     */
+    private void awaitWrite(long newsId) {
+        long deadline = System.currentTimeMillis() + WRITE_WAIT_MILLIS;
+        long remaining;
+        while (writing.containsKey(newsId) && (remaining = deadline - System.currentTimeMillis()) > 0) {
+            try {
+                stateLock.wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void putBase(long newsId, Long stored) {
+        baseCounts.put(newsId, new BaseCount(stored, System.currentTimeMillis() + baseTtlMillis));
+        Iterator<BaseCount> iterator = baseCounts.values().iterator();
+        while (baseCounts.size() > baseCacheSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 尚未计入数据库的增量（持有 stateLock 时调用）
+     */
+    private long pendingDelta(long newsId) {
+        return pendingDelta(current.get(), newsId) + pendingDelta(previous, newsId)
+                + writing.getOrDefault(newsId, 0L);
+    }
+
+    private static long pendingDelta(Map<Long, LongAdder> counters, long newsId) {
+        LongAdder counter = counters.get(newsId);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * 把累计的增量写回数据库（定时执行）
+     */
+    @Scheduled(fixedDelayString = "${news.read-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = new HashMap<>();
+            synchronized (stateLock) {
+                ConcurrentHashMap<Long, LongAdder> retired = previous;
+                previous = current.getAndSet(new ConcurrentHashMap<>());
+                drain(retired, deltas);
+                drain(previous, deltas);
+                if (deltas.isEmpty()) {
+                    return;
+                }
+                writing = deltas;
+                generation++;
+            }
+
+            List<Map<Long, Long>> batches = partition(deltas);
+            int written = 0;
+            try {
+                for (Map<Long, Long> batch : batches) {
+                    sqlSession.update(NAMESPACE + "incrementReadCounts", Map.of("deltas", batch));
+                    written++;
+                }
+                log.debug("阅读数刷盘：{} 篇新闻", deltas.size());
+            } catch (RuntimeException e) {
+                log.warn("阅读数刷盘失败，下次重试：{}", e.getMessage());
+            }
+
+            synchronized (stateLock) {
+                // 已写入的增量计入缓存的基数，未写入的放回计数表，下次刷盘重试
+                for (Map<Long, Long> batch : batches.subList(0, written)) {
+                    batch.forEach((newsId, delta) -> {
+                        BaseCount base = baseCounts.get(newsId);
+                        if (base != null && base.stored != null) {
+                            base.stored += delta;
+                        }
+                    });
+                }
+                for (Map<Long, Long> batch : batches.subList(written, batches.size())) {
+                    batch.forEach((newsId, delta) ->
+                            current.get().computeIfAbsent(newsId, id -> new LongAdder()).add(delta));
+                }
+                writing = Map.of();
+                generation++;
+                stateLock.notifyAll();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 应用关闭时写回剩余的增量（两次刷盘把当前表和上一张表都汇总）
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        flush();
+    }
+
+    @Override
+    public void newsInserted(List<Object> newsList) {
+        synchronized (stateLock) {
+            // 之前按不存在缓存的ID
+            newsList.forEach(news -> baseCounts.remove(ResultProperties.getLong(news, "id")));
+            generation++;
+        }
+    }
+
+    @Override
+    public void newsChanged(Long newsId) {
+        synchronized (stateLock) {
+            baseCounts.remove(newsId);
+            generation++;
+        }
+    }
+
+    private static void drain(Map<Long, LongAdder> counters, Map<Long, Long> deltas) {
+        counters.forEach((newsId, counter) -> {
+            long delta = counter.sumThenReset();
+            if (delta != 0) {
+                deltas.merge(newsId, delta, Long::sum);
+            }
+        });
+    }
+
+    private static List<Map<Long, Long>> partition(Map<Long, Long> deltas) {
+        List<Map<Long, Long>> batches = new ArrayList<>();
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * 缓存的数据库阅读数，stored 为 null 表示新闻不存在（只在持有 stateLock 时读写）
+     */
+    private static final class BaseCount {
+        Long stored;
+        final long expireAt;
+
+        BaseCount(Long stored, long expireAt) {
+            this.stored = stored;
+            this.expireAt = expireAt;
+        }
+    }
+}
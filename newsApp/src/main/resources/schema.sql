@@ -12,7 +12,7 @@ CREATE TABLE IF NOT EXISTS user (
     email VARCHAR(100) COMMENT '邮箱',
     phone VARCHAR(20) COMMENT '手机号',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
-    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    update_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT '更新时间（微秒，版本戳用）',
     INDEX idx_username (username)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
 
@@ -23,6 +23,7 @@ CREATE TABLE IF NOT EXISTS category (
     code VARCHAR(50) NOT NULL UNIQUE COMMENT '分类代码',
     sort_order INT DEFAULT 0 COMMENT '排序',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) COMMENT '更新时间（微秒，版本戳用）',
     INDEX idx_code (code)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='新闻分类表';
 
@@ -42,13 +43,106 @@ CREATE TABLE IF NOT EXISTS news (
     category_id BIGINT NOT NULL COMMENT '分类ID',
     user_id BIGINT NOT NULL COMMENT '发布用户ID',
     read_count INT DEFAULT 0 COMMENT '阅读数',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（详情显示的字段修改时加一，详情接口 ETag 用）',
     publish_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '发布时间',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-    INDEX idx_category (category_id),
+    INDEX idx_category_publish (category_id, publish_time, id),
     INDEX idx_user (user_id),
     INDEX idx_publish_time (publish_time),
+    INDEX idx_category_update (category_id, update_time, id),
+    INDEX idx_update_time (update_time),
     INDEX idx_media_type (media_type),
+    FULLTEXT INDEX ft_news_text (title, summary, content) WITH PARSER ngram,
     FOREIGN KEY (category_id) REFERENCES category(id),
     FOREIGN KEY (user_id) REFERENCES user(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='新闻表';
+
+-- 分类新闻数统计表（countNews 直接读取，代替每次 COUNT(*) 扫描 news 表）
+CREATE TABLE IF NOT EXISTS news_category_stats (
+    category_id BIGINT PRIMARY KEY COMMENT '分类ID',
+    news_count INT NOT NULL DEFAULT 0 COMMENT '新闻数量',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '列表版本（分类内新增、删除新闻和修改列表显示的字段时加一，列表接口 ETag 用）',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='分类新闻数统计表';
+
+-- 新增新闻：分类计数 +1、列表版本 +1（触发器与 INSERT 在同一事务中执行）
+DROP TRIGGER IF EXISTS trg_news_stats_insert;
+CREATE TRIGGER trg_news_stats_insert AFTER INSERT ON news FOR EACH ROW
+    INSERT INTO news_category_stats (category_id, news_count, version) VALUES (NEW.category_id, 1, 1)
+    ON DUPLICATE KEY UPDATE news_count = news_count + 1, version = version + 1;
+
+-- 删除新闻：分类计数 -1、列表版本 +1
+DROP TRIGGER IF EXISTS trg_news_stats_delete;
+CREATE TRIGGER trg_news_stats_delete AFTER DELETE ON news FOR EACH ROW
+    UPDATE news_category_stats SET news_count = news_count - 1, version = version + 1
+    WHERE category_id = OLD.category_id;
+
+-- 修改新闻：列表中显示的字段（标题、摘要、图片、视频、分类、作者、发布时间）变化时所在分类列表版本 +1；
+-- 只有阅读数变化（阅读数定时刷盘）时不加，列表 ETag 和列表缓存不随阅读数变化；
+-- 修改了分类时原分类计数 -1、新分类计数 +1，两个分类的列表版本都 +1
+DROP TRIGGER IF EXISTS trg_news_stats_update;
+CREATE TRIGGER trg_news_stats_update AFTER UPDATE ON news FOR EACH ROW
+    INSERT INTO news_category_stats (category_id, news_count, version)
+    SELECT t.category_id, t.delta, 1
+    FROM (SELECT NEW.category_id AS category_id, IF(NEW.category_id <> OLD.category_id, 1, 0) AS delta
+          UNION ALL
+          SELECT OLD.category_id, -1 FROM DUAL WHERE NEW.category_id <> OLD.category_id) t
+    WHERE NOT (NEW.title <=> OLD.title AND NEW.summary <=> OLD.summary
+               AND NEW.image_url <=> OLD.image_url AND NEW.image_url_2 <=> OLD.image_url_2
+               AND NEW.image_url_3 <=> OLD.image_url_3 AND NEW.media_type <=> OLD.media_type
+               AND NEW.video_url <=> OLD.video_url AND NEW.video_duration <=> OLD.video_duration
+               AND NEW.video_cover_url <=> OLD.video_cover_url AND NEW.category_id <=> OLD.category_id
+               AND NEW.user_id <=> OLD.user_id AND NEW.publish_time <=> OLD.publish_time)
+    ON DUPLICATE KEY UPDATE news_count = news_count + t.delta, version = version + 1;
+
+-- 修改新闻：详情中显示的字段变化时新闻版本号 +1（update_time 只精确到秒，同一秒内的两次修改靠版本号区分）；
+-- 只有阅读数变化时不加，详情 ETag 不随阅读数变化（最新阅读数通过 /api/news/{id}/read-count 查询）
+DROP TRIGGER IF EXISTS trg_news_version_update;
+CREATE TRIGGER trg_news_version_update BEFORE UPDATE ON news FOR EACH ROW
+    SET NEW.version = OLD.version + NOT (NEW.title <=> OLD.title AND NEW.summary <=> OLD.summary
+        AND NEW.content <=> OLD.content
+        AND NEW.image_url <=> OLD.image_url AND NEW.image_url_2 <=> OLD.image_url_2
+        AND NEW.image_url_3 <=> OLD.image_url_3 AND NEW.media_type <=> OLD.media_type
+        AND NEW.video_url <=> OLD.video_url AND NEW.video_duration <=> OLD.video_duration
+        AND NEW.video_cover_url <=> OLD.video_cover_url AND NEW.category_id <=> OLD.category_id
+        AND NEW.user_id <=> OLD.user_id AND NEW.publish_time <=> OLD.publish_time);
+
+-- 定时校准分类计数，修正手工改数据等造成的偏差（需要开启 event_scheduler）；
+-- 计数被修正的分类列表版本 +1（版本先于计数赋值，比较的是修正前的计数）
+DROP EVENT IF EXISTS evt_reconcile_news_category_stats;
+CREATE EVENT evt_reconcile_news_category_stats ON SCHEDULE EVERY 1 HOUR DO
+    INSERT INTO news_category_stats (category_id, news_count)
+    SELECT s.category_id, s.actual_count
+    FROM (SELECT c.id AS category_id, (SELECT COUNT(*) FROM news n WHERE n.category_id = c.id) AS actual_count
+          FROM category c) s
+    ON DUPLICATE KEY UPDATE version = version + (news_count <> s.actual_count),
+                            news_count = s.actual_count;
+
+-- 新闻删除日志（增量同步时返回删除标记）
+-- 新闻被删除或移出分类时由触发器写入，保留 30 天
+CREATE TABLE IF NOT EXISTS news_deletion_log (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '日志ID',
+    news_id BIGINT NOT NULL COMMENT '被删除的新闻ID',
+    category_id BIGINT NOT NULL COMMENT '新闻原所属分类ID',
+    delete_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '删除时间',
+    INDEX idx_category_delete (category_id, delete_time, id),
+    INDEX idx_delete_time (delete_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='新闻删除日志';
+
+-- 删除新闻：记录删除标记
+DROP TRIGGER IF EXISTS trg_news_deletion_log_delete;
+CREATE TRIGGER trg_news_deletion_log_delete AFTER DELETE ON news FOR EACH ROW
+    INSERT INTO news_deletion_log (news_id, category_id) VALUES (OLD.id, OLD.category_id);
+
+-- 修改新闻分类：对原分类来说相当于删除
+DROP TRIGGER IF EXISTS trg_news_deletion_log_update;
+CREATE TRIGGER trg_news_deletion_log_update AFTER UPDATE ON news FOR EACH ROW
+    INSERT INTO news_deletion_log (news_id, category_id)
+    SELECT OLD.id, OLD.category_id FROM DUAL
+    WHERE NEW.category_id <> OLD.category_id;
+
+-- 每天清理 30 天前的删除日志（客户端同步点早于 30 天时需要全量刷新）
+DROP EVENT IF EXISTS evt_purge_news_deletion_log;
+CREATE EVENT evt_purge_news_deletion_log ON SCHEDULE EVERY 1 DAY DO
+    DELETE FROM news_deletion_log WHERE delete_time < DATE_SUB(NOW(), INTERVAL 30 DAY);
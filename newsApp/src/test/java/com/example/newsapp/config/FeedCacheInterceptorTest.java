@@ -0,0 +1,382 @@
+package com.example.newsapp.config;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedCacheInterceptorTest {
+
+	private static final String NAMESPACE = "com.example.newsapp.mapper.NewsMapper.";
+
+	private final Configuration configuration = new Configuration();
+	private final Executor executor = mock(Executor.class);
+	private FeedCacheInterceptor interceptor;
+
+	private MappedStatement feedList;
+	private MappedStatement insertNews;
+	private MappedStatement deleteNews;
+	private MappedStatement selectCategoryList;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		interceptor = new FeedCacheInterceptor(512, 60, 3000);
+		feedList = statement("selectNewsSummaryList", SqlCommandType.SELECT);
+		insertNews = statement("insertNews", SqlCommandType.INSERT);
+		deleteNews = statement("deleteNews", SqlCommandType.DELETE);
+		MappedStatement selectCategoryId = statement("selectNewsCategoryId", SqlCommandType.SELECT);
+		selectCategoryList = statement("selectCategoryList", SqlCommandType.SELECT);
+
+		when(executor.createCacheKey(any(), any(), any(), any())).thenAnswer(invocation -> {
+			CacheKey key = new CacheKey();
+			key.update(((MappedStatement) invocation.getArgument(0)).getId());
+			key.update(invocation.getArgument(1));
+			return key;
+		});
+		when(executor.query(same(feedList), any(), any(), any())).thenAnswer(invocation -> new ArrayList<>(List.of("row")));
+		when(executor.query(same(selectCategoryId), eq(10L), any(), any())).thenReturn(List.of(2L));
+		when(executor.query(same(selectCategoryList), any(), any(), any()))
+				.thenReturn(List.of(Map.of("id", 1L, "code", "tech"), Map.of("id", 2L, "code", "sports")));
+		when(executor.update(any(), any())).thenReturn(1);
+	}
+
+	@Test
+	void repeatedQueryIsServedFromCache() throws Throwable {
+		Object first = query(categoryId(1L));
+		Object second = query(categoryId(1L));
+
+		assertThat(second).isSameAs(first);
+		verify(executor, times(1)).query(same(feedList), any(), any(), any());
+		assertThat(interceptor.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+	}
+
+	@Test
+	void insertInvalidatesOnlyItsCategoryAndTheAllCategoryFeed() throws Throwable {
+		query(categoryId(1L));
+		query(categoryId(2L));
+		query(new HashMap<>());
+
+		update(insertNews, categoryId(1L));
+
+		query(categoryId(1L));
+		query(categoryId(2L));
+		query(new HashMap<>());
+		// 分类1和全部新闻重新查询，分类2命中缓存
+		verify(executor, times(5)).query(same(feedList), any(), any(), any());
+	}
+
+	@Test
+	void deleteInvalidatesTheOriginalCategoryOfTheNews() throws Throwable {
+		query(categoryId(1L));
+		query(categoryId(2L));
+
+		update(deleteNews, 10L);
+
+		query(categoryId(1L));
+		query(categoryId(2L));
+		verify(executor, times(3)).query(same(feedList), any(), any(), any());
+	}
+
+	@Test
+	void categoryCodeQueriesAreInvalidatedByTheirCategoryId() throws Throwable {
+		query(categoryCode("tech"));
+		query(categoryCode("sports"));
+
+		update(insertNews, categoryId(1L));
+
+		query(categoryCode("tech"));
+		query(categoryCode("sports"));
+		verify(executor, times(3)).query(same(feedList), any(), any(), any());
+	}
+
+	@Test
+	void unknownWriteClearsEverything() throws Throwable {
+		query(categoryId(1L));
+		query(categoryId(2L));
+
+		update(statement("reconcileCategoryStats", SqlCommandType.UPDATE), null);
+
+		query(categoryId(1L));
+		query(categoryId(2L));
+		verify(executor, times(4)).query(same(feedList), any(), any(), any());
+	}
+
+	@Test
+	void readCountFlushDoesNotInvalidateAnything() throws Throwable {
+		query(categoryId(1L));
+		query(categoryId(2L));
+		query(new HashMap<>());
+
+		update(statement("incrementReadCounts", SqlCommandType.UPDATE), Map.of("deltas", Map.of(10L, 3)));
+
+		query(categoryId(1L));
+		query(categoryId(2L));
+		query(new HashMap<>());
+		verify(executor, times(3)).query(same(feedList), any(), any(), any());
+		verify(executor, times(1)).update(any(), any());
+		assertThat(interceptor.getStats()).containsEntry("invalidations", 0L);
+	}
+
+	@Test
+	void unknownCategoryCodesDoNotReloadTheCategoryTableOnEveryMiss() throws Throwable {
+		query(categoryCode("nope-1"));
+		query(categoryCode("nope-2"));
+		query(categoryCode("tech"));
+
+		verify(executor, times(1)).query(same(selectCategoryList), any(), any(), any());
+	}
+
+	@Test
+	void reloadCategoriesPicksUpNewCodesAndClearsEntries() throws Throwable {
+		query(categoryCode("tech"));
+		when(executor.query(same(selectCategoryList), any(), any(), any()))
+				.thenReturn(List.of(Map.of("id", 1L, "code", "tech"), Map.of("id", 3L, "code", "finance")));
+
+		interceptor.reloadCategories();
+		query(categoryCode("finance"));
+		query(categoryCode("tech"));
+
+		// 重新加载后 finance 归入分类3：新增分类3的新闻时清除它，分类1的条目保留
+		update(insertNews, categoryId(3L));
+		query(categoryCode("finance"));
+		query(categoryCode("tech"));
+		verify(executor, times(4)).query(same(feedList), any(), any(), any());
+		verify(executor, times(2)).query(same(selectCategoryList), any(), any(), any());
+	}
+
+	@Test
+	void writeListenersAreNotifiedOfInsertedAndChangedNews() throws Throwable {
+		List<Object> inserted = new ArrayList<>();
+		List<Long> changed = new ArrayList<>();
+		interceptor.addWriteListener(new NewsWriteListener() {
+			@Override
+			public void newsInserted(List<Object> newsList) {
+				inserted.addAll(newsList);
+			}
+
+			@Override
+			public void newsChanged(Long newsId) {
+				changed.add(newsId);
+			}
+		});
+		Map<String, Object> news = categoryId(1L);
+
+		update(insertNews, news);
+		update(deleteNews, 10L);
+
+		assertThat(inserted).containsExactly(news);
+		assertThat(changed).containsExactly(10L);
+	}
+
+	@Test
+	void writeListenersInATransactionAreNotifiedAfterCommit() throws Throwable {
+		List<Object> inserted = new ArrayList<>();
+		interceptor.addWriteListener(new NewsWriteListener() {
+			@Override
+			public void newsInserted(List<Object> newsList) {
+				inserted.addAll(newsList);
+			}
+		});
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			update(insertNews, categoryId(1L));
+			assertThat(inserted).isEmpty();
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			assertThat(inserted).hasSize(1);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void expiredEntriesAreReloaded() throws Throwable {
+		interceptor = new FeedCacheInterceptor(512, 0, 3000);
+
+		query(categoryId(1L));
+		query(categoryId(1L));
+
+		verify(executor, times(2)).query(same(feedList), any(), any(), any());
+		assertThat(interceptor.getStats()).containsEntry("evictions", 1L);
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvictedAtCapacity() throws Throwable {
+		interceptor = new FeedCacheInterceptor(2, 60, 3000);
+
+		query(categoryId(1L));
+		query(categoryId(2L));
+		query(categoryId(1L));
+		query(categoryId(3L));
+		query(categoryId(1L));
+		query(categoryId(2L));
+
+		// 分类2最久未使用，容量满时被淘汰
+		verify(executor, times(4)).query(same(feedList), any(), any(), any());
+	}
+
+	@Test
+	void concurrentMissesShareOneDatabaseQuery() throws Throwable {
+		CountDownLatch release = blockFirstQuery(null);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(pool.submit(() -> queryUnchecked(categoryId(1L))));
+			}
+			awaitMisses(4);
+			release.countDown();
+
+			Object first = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<Object> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		verify(executor, times(1)).query(same(feedList), any(), any(), any());
+		assertThat(interceptor.getStats())
+				.containsEntry("coalesced", 3L)
+				.containsEntry("coalesceRatio", 0.75)
+				.containsEntry("inFlight", 0);
+	}
+
+	@Test
+	void waitingRequestQueriesItselfAfterTimeout() throws Throwable {
+		interceptor = new FeedCacheInterceptor(512, 60, 50);
+		CountDownLatch release = blockFirstQuery(null);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> leader = pool.submit(() -> queryUnchecked(categoryId(1L)));
+			awaitMisses(1);
+
+			assertThat(query(categoryId(1L))).isEqualTo(List.of("row"));
+			release.countDown();
+			leader.get(5, TimeUnit.SECONDS);
+		} finally {
+			pool.shutdownNow();
+		}
+		verify(executor, times(2)).query(same(feedList), any(), any(), any());
+		assertThat(interceptor.getStats()).containsEntry("coalesceTimeouts", 1L).containsEntry("coalesced", 0L);
+	}
+
+	@Test
+	void leaderFailureIsPassedToWaitingRequests() throws Throwable {
+		IllegalStateException failure = new IllegalStateException("db down");
+		CountDownLatch release = blockFirstQuery(failure);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> leader = pool.submit(() -> queryUnchecked(categoryId(1L)));
+			awaitMisses(1);
+			Future<Object> follower = pool.submit(() -> queryUnchecked(categoryId(1L)));
+			awaitMisses(2);
+			release.countDown();
+
+			assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCause(failure);
+			assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCause(failure);
+		} finally {
+			pool.shutdownNow();
+		}
+		// 失败的结果不缓存，下一次请求重新查询
+		query(categoryId(1L));
+		verify(executor, times(2)).query(same(feedList), any(), any(), any());
+	}
+
+	/**
+	 * 第一次列表查询阻塞到返回的 latch 释放（failure 不为 null 时随后抛出），之后的查询立即返回
+	 */
+	private CountDownLatch blockFirstQuery(RuntimeException failure) throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		when(executor.query(same(feedList), any(), any(), any())).thenAnswer(invocation -> {
+			if (calls.getAndIncrement() == 0) {
+				release.await(5, TimeUnit.SECONDS);
+				if (failure != null) {
+					throw failure;
+				}
+			}
+			return new ArrayList<>(List.of("row"));
+		});
+		return release;
+	}
+
+	private void awaitMisses(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while ((Long) interceptor.getStats().get("misses") < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		// 未命中计数在进入等待之前，留出时间让请求进入等待
+		Thread.sleep(50);
+	}
+
+	private Object queryUnchecked(Object parameter) throws Exception {
+		try {
+			return query(parameter);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Object query(Object parameter) throws Throwable {
+		return interceptor.intercept(new Invocation(executor,
+				Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class),
+				new Object[] {feedList, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER}));
+	}
+
+	private void update(MappedStatement ms, Object parameter) throws Throwable {
+		interceptor.intercept(new Invocation(executor,
+				Executor.class.getMethod("update", MappedStatement.class, Object.class),
+				new Object[] {ms, parameter}));
+	}
+
+	private MappedStatement statement(String id, SqlCommandType type) {
+		MappedStatement ms = new MappedStatement.Builder(configuration, NAMESPACE + id,
+				new StaticSqlSource(configuration, "SELECT 1"), type).build();
+		configuration.addMappedStatement(ms);
+		return ms;
+	}
+
+	private static Map<String, Object> categoryId(Long categoryId) {
+		Map<String, Object> parameter = new HashMap<>();
+		parameter.put("categoryId", categoryId);
+		return parameter;
+	}
+
+	private static Map<String, Object> categoryCode(String categoryCode) {
+		Map<String, Object> parameter = new HashMap<>();
+		parameter.put("categoryCode", categoryCode);
+		return parameter;
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.newsapp.config;
+
+import com.example.newsapp.service.NewsDimensionCache;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsEtagFilterTest {
+
+	private static final String FEED_VERSION = "com.example.newsapp.mapper.NewsMapper.selectFeedVersion";
+	private static final String NEWS_VERSION = "com.example.newsapp.mapper.NewsMapper.selectNewsVersion";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final NewsDimensionCache dimensionCache = mock(NewsDimensionCache.class);
+	private final NewsEtagFilter filter = new NewsEtagFilter(sqlSession, dimensionCache);
+
+	@BeforeEach
+	void setUp() {
+		when(dimensionCache.categoryId(anyString())).thenReturn(null);
+		when(dimensionCache.categoryId("tech")).thenReturn(1L);
+	}
+
+	@Test
+	void listResponseCarriesEtagVaryAndNoCache() throws Exception {
+		when(sqlSession.selectOne(eq(FEED_VERSION), any())).thenReturn("7:120:1.5:2.5");
+
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = get("/api/news/category/tech", null, null, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader("ETag")).startsWith("\"");
+		assertThat(response.getHeader("Vary")).isEqualTo("Accept");
+		assertThat(response.getHeader("Cache-Control")).isEqualTo("no-cache");
+		verify(sqlSession).selectOne(eq(FEED_VERSION), eq(Map.of("categoryId", 1L)));
+	}
+
+	@Test
+	void unknownCategoryGetsNoEtagAndNoVersionQuery() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = get("/api/news/category/nope", null, null, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(response.getHeader("ETag")).isNull();
+		verify(sqlSession, never()).selectOne(anyString(), any());
+	}
+
+	@Test
+	void matchingIfNoneMatchReturns304WithoutCallingTheController() throws Exception {
+		when(sqlSession.selectOne(eq(FEED_VERSION), any())).thenReturn("7:120:1.5:2.5");
+		String etag = get("/api/news/home", null, null, new MockFilterChain()).getHeader("ETag");
+
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = get("/api/news/home", null, etag, chain);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(chain.getRequest()).isNull();
+		assertThat(response.getHeader("Vary")).isEqualTo("Accept");
+	}
+
+	@Test
+	void versionBumpWithinTheSameSecondChangesTheEtag() throws Exception {
+		when(sqlSession.selectOne(eq(NEWS_VERSION), any())).thenReturn("5:3:1.5:2.5");
+		String etag = get("/api/news/5", null, null, new MockFilterChain()).getHeader("ETag");
+
+		// 同一秒内修改标题，版本号加一（update_time 不变）
+		when(sqlSession.selectOne(eq(NEWS_VERSION), any())).thenReturn("5:4:1.5:2.5");
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = get("/api/news/5", null, etag, chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader("ETag")).isNotEqualTo(etag);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void differentAcceptGetsDifferentEtag() throws Exception {
+		when(sqlSession.selectOne(eq(FEED_VERSION), any())).thenReturn("7:120:1.5:2.5");
+
+		String json = get("/api/news", "application/json", null, new MockFilterChain()).getHeader("ETag");
+		String cbor = get("/api/news", "application/cbor", null, new MockFilterChain()).getHeader("ETag");
+
+		assertThat(json).isNotEqualTo(cbor);
+	}
+
+	@Test
+	void writesAndOtherPathsAreNotVersioned() throws Exception {
+		MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/news/5/view");
+		MockFilterChain postChain = new MockFilterChain();
+		filter.doFilter(post, new MockHttpServletResponse(), postChain);
+
+		MockFilterChain searchChain = new MockFilterChain();
+		MockHttpServletResponse search = get("/api/news/search", null, null, searchChain);
+
+		assertThat(postChain.getRequest()).isNotNull();
+		assertThat(searchChain.getRequest()).isNotNull();
+		assertThat(search.getHeader("ETag")).isNull();
+		verify(sqlSession, never()).selectOne(anyString(), any());
+	}
+
+	@Test
+	void missingNewsIsPassedToTheController() throws Exception {
+		when(sqlSession.selectOne(eq(NEWS_VERSION), any())).thenReturn(null);
+
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = get("/api/news/404", null, "\"x\"", chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(response.getHeader("ETag")).isNull();
+	}
+
+	private MockHttpServletResponse get(String uri, String accept, String ifNoneMatch, MockFilterChain chain)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		if (accept != null) {
+			request.addHeader("Accept", accept);
+		}
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
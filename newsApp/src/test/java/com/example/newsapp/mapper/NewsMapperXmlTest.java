@@ -0,0 +1,163 @@
+package com.example.newsapp.mapper;
+
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.builder.xml.XMLIncludeTransformer;
+import org.apache.ibatis.builder.xml.XMLMapperEntityResolver;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.parsing.XPathParser;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * NewsMapper.xml 动态 SQL 测试：直接渲染 XML 中的语句，检查生成的 SQL（不需要数据库）
+ */
+class NewsMapperXmlTest {
+
+	@Test
+	void selectNewsByIdsWithEmptyListMatchesNothing() throws Exception {
+		String sql = render("selectNewsByIds", Map.of("ids", List.of()));
+
+		assertThat(sql).endsWith("FROM news n WHERE 1 = 0").doesNotContain("IN (");
+	}
+
+	@Test
+	void selectNewsByIdsBindsEveryId() throws Exception {
+		String sql = render("selectNewsByIds", Map.of("ids", List.of(3L, 1L, 2L)));
+
+		assertThat(sql).endsWith("WHERE n.id IN ( ? , ? , ? )");
+	}
+
+	@Test
+	void selectNewsByIdsReturnsTheSummaryColumnsWithoutContent() throws Exception {
+		String sql = render("selectNewsByIds", Map.of("ids", List.of(1L)));
+
+		assertThat(sql).contains("n.summary").contains("n.category_id").contains("n.user_id")
+				.doesNotContain("n.content");
+	}
+
+	@Test
+	void selectNewsByIdsRejectsTooManyIds() {
+		List<Long> ids = LongStream.rangeClosed(1, NewsMapperParams.MAX_BATCH_IDS + 1).boxed()
+				.collect(Collectors.toList());
+
+		assertThatThrownBy(() -> render("selectNewsByIds", Map.of("ids", ids)))
+				.hasRootCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void insertNewsUsesTheSameDefaultsAsBatchInsert() throws Exception {
+		Map<String, Object> news = news("A");
+
+		String single = render("insertNews", news);
+		String batch = render("batchInsertNews", Map.of("list", List.of(news)));
+
+		assertThat(single).contains("IFNULL(?, 0), IFNULL(?, NOW()))");
+		assertThat(batch).contains("IFNULL(?, 0), IFNULL(?, NOW()))");
+		assertThat(single.substring(single.indexOf("VALUES")))
+				.isEqualTo(batch.substring(batch.indexOf("VALUES")));
+	}
+
+	@Test
+	void batchInsertNewsWritesOneRowPerNews() throws Exception {
+		String sql = render("batchInsertNews", Map.of("list", List.of(news("A"), news("B"))));
+
+		assertThat(sql.split("IFNULL\\(\\?, NOW\\(\\)\\)")).hasSize(3);
+	}
+
+	@Test
+	void batchInsertNewsWithEmptyListInsertsNothing() throws Exception {
+		String sql = render("batchInsertNews", Map.of("list", List.of()));
+
+		assertThat(sql).doesNotContain("VALUES").endsWith("FROM news WHERE 1 = 0");
+	}
+
+	@Test
+	void feedVersionIsBuiltFromTheCategoryListVersion() throws Exception {
+		Map<String, Object> all = new HashMap<>();
+		all.put("categoryId", null);
+
+		String allSql = render("selectFeedVersion", all);
+		String categorySql = render("selectFeedVersion", Map.of("categoryId", 1L));
+
+		assertThat(allSql).contains("SUM(version)").doesNotContain("update_time) FROM news").doesNotContain("WHERE category_id");
+		assertThat(categorySql).contains("WHERE category_id = ?").doesNotContain("code =");
+		assertThat(render("selectNewsVersion", 5L)).contains("n.id, n.version");
+	}
+
+	@Test
+	void listStatementsFilterByCategoryIdWithoutQueryingTheCategoryTable() throws Exception {
+		Map<String, Object> params = new HashMap<>();
+		params.put("categoryId", 1L);
+		params.put("limit", 10);
+		params.put("keyword", "体育");
+		params.put("sinceTime", "2024-01-01 00:00:00");
+		params.put("untilTime", "2024-01-02 00:00:00");
+
+		for (String statement : List.of("selectNewsSummaryList", "selectNewsListByCursor", "selectNewsChangedSince",
+				"selectNewsDeletedSince", "searchNewsIds")) {
+			assertThat(render(statement, params)).as(statement)
+					.contains("category_id = ?")
+					.doesNotContain("FROM category");
+		}
+	}
+
+	@Test
+	void reconcileUsesTheDerivedTableInsteadOfValuesFunction() throws Exception {
+		String sql = render("reconcileCategoryStats", null);
+
+		assertThat(sql).doesNotContain("VALUES(")
+				.contains("version = version + (news_count <> s.actual_count), news_count = s.actual_count");
+	}
+
+	private static Map<String, Object> news(String title) {
+		Map<String, Object> news = new HashMap<>();
+		for (String property : List.of("title", "summary", "content", "imageUrl", "imageUrl2", "imageUrl3",
+				"mediaType", "videoUrl", "videoDuration", "videoCoverUrl", "categoryId", "userId",
+				"readCount", "publishTime")) {
+			news.put(property, null);
+		}
+		news.put("title", title);
+		return news;
+	}
+
+	/**
+	 * 渲染语句为 SQL（多个空白合并为一个空格）
+	 */
+	static String render(String statementId, Object parameter) throws Exception {
+		Configuration configuration = new Configuration();
+		XNode mapper;
+		try (InputStream in = NewsMapperXmlTest.class.getResourceAsStream("/mapper/NewsMapper.xml")) {
+			mapper = new XPathParser(in, true, configuration.getVariables(), new XMLMapperEntityResolver())
+					.evalNode("/mapper");
+		}
+		String namespace = mapper.getStringAttribute("namespace");
+		MapperBuilderAssistant assistant = new MapperBuilderAssistant(configuration, "mapper/NewsMapper.xml");
+		assistant.setCurrentNamespace(namespace);
+		for (XNode sql : mapper.evalNodes("sql")) {
+			configuration.getSqlFragments().put(namespace + "." + sql.getStringAttribute("id"), sql);
+		}
+
+		List<XNode> statements = new ArrayList<>(mapper.evalNodes("select|insert|update|delete"));
+		XNode statement = statements.stream()
+				.filter(node -> statementId.equals(node.getStringAttribute("id")))
+				.findFirst()
+				.orElseThrow();
+		new XMLIncludeTransformer(configuration, assistant).applyIncludes(statement.getNode());
+		String sql = new XMLLanguageDriver().createSqlSource(configuration, statement, null)
+				.getBoundSql(parameter instanceof Map ? new HashMap<>((Map<?, ?>) parameter) : parameter)
+				.getSql();
+		return sql.replaceAll("\\s+", " ").trim();
+	}
+}
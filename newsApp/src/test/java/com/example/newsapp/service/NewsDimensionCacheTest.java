@@ -0,0 +1,101 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsDimensionCacheTest {
+
+	private static final String NS = "com.example.newsapp.mapper.NewsMapper.";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final NewsDimensionCache cache = new NewsDimensionCache(sqlSession);
+
+	@BeforeEach
+	void setUp() {
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v1");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 2L, "name", "体育", "code", "sports"),
+				Map.of("id", 1L, "name", "科技", "code", "tech")));
+		when(sqlSession.selectList(NS + "selectUserList")).thenReturn(List.of(
+				Map.of("id", 7L, "username", "editor", "nickname", "小编", "avatar", "a.png")));
+	}
+
+	@Test
+	void resolvesCategoriesInMemoryAfterTheFirstLoad() {
+		assertThat(cache.categoryId("tech")).isEqualTo(1L);
+		assertThat(cache.categoryId("unknown")).isNull();
+		assertThat(cache.categoryId(null)).isNull();
+		assertThat(cache.categoryCode(2L)).isEqualTo("sports");
+		assertThat(cache.categoryIds()).containsExactly(2L, 1L);
+		assertThat(cache.hasUser(7L)).isTrue();
+		assertThat(cache.hasUser(8L)).isFalse();
+
+		verify(sqlSession, times(1)).selectList(NS + "selectCategoryList");
+	}
+
+	@Test
+	void enrichesNewsWithCategoryAndAuthor() {
+		Map<String, Object> news = new HashMap<>();
+		news.put("id", 10L);
+		news.put("title", "标题");
+		news.put("categoryId", 1L);
+		news.put("userId", 7L);
+
+		Map<String, Object> item = cache.toItem(news);
+
+		assertThat(item).containsEntry("id", 10L)
+				.containsEntry("title", "标题")
+				.containsEntry("categoryCode", "tech")
+				.containsEntry("categoryName", "科技")
+				.containsEntry("author", "小编")
+				.containsEntry("authorAvatar", "a.png");
+	}
+
+	@Test
+	void unknownDimensionsLeaveTheFieldsEmpty() {
+		Map<String, Object> item = cache.toItem(Map.of("id", 10L, "categoryId", 99L, "userId", 99L));
+
+		assertThat(item).containsEntry("categoryName", null).containsEntry("author", null);
+	}
+
+	@Test
+	void reloadsOnlyWhenTheVersionChanges() {
+		AtomicInteger changes = new AtomicInteger();
+		cache.addChangeListener(changes::incrementAndGet);
+		cache.refresh();
+		cache.refresh();
+		verify(sqlSession, times(1)).selectList(NS + "selectCategoryList");
+		assertThat(changes).hasValue(0);
+
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v2");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 3L, "name", "财经", "code", "finance")));
+		cache.refresh();
+
+		assertThat(cache.categoryId("finance")).isEqualTo(3L);
+		assertThat(cache.categoryId("tech")).isNull();
+		assertThat(changes).hasValue(1);
+	}
+
+	@Test
+	void keepsTheOldSnapshotWhenTheDatabaseFails() {
+		cache.refresh();
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenThrow(new RuntimeException("down"));
+
+		cache.refresh();
+
+		assertThat(cache.categoryId("tech")).isEqualTo(1L);
+	}
+}
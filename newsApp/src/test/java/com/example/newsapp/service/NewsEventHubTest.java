@@ -0,0 +1,143 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NewsEventHubTest {
+
+	private static final String NS = "com.example.newsapp.mapper.NewsMapper.";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+
+	/** 发送线程的任务，测试中手动执行 */
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	private final NewsEventHub hub = new NewsEventHub(new NewsDimensionCache(sqlSession), tasks::add, 2, 3, 0);
+
+	@BeforeEach
+	void setUp() {
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v1");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 1L, "name", "科技", "code", "tech"),
+				Map.of("id", 2L, "name", "体育", "code", "sports")));
+		when(sqlSession.selectList(NS + "selectUserList")).thenReturn(List.of(
+				Map.of("id", 7L, "username", "editor", "nickname", "小编", "avatar", "a.png")));
+	}
+
+	@Test
+	void newsIsPushedToItsCategoryAndAllCategorySubscribersOnly() {
+		RecordingEmitter tech = subscribe(1L);
+		RecordingEmitter sports = subscribe(2L);
+		RecordingEmitter all = subscribe(null);
+
+		hub.newsInserted(List.of(news(5L, 1L)));
+		runTasks();
+
+		assertThat(tech.news).hasSize(1);
+		assertThat(tech.news.get(0)).containsEntry("id", 5L).containsEntry("categoryCode", "tech")
+				.containsEntry("author", "小编").containsEntry("readCount", 0);
+		assertThat(tech.news.get(0).get("publishTime")).isNotNull();
+		assertThat(all.news).hasSize(1);
+		assertThat(sports.news).isEmpty();
+	}
+
+	@Test
+	void slowSubscriberKeepsOnlyTheNewestEvents() {
+		RecordingEmitter tech = subscribe(1L);
+
+		// 三条新闻在发送前进入缓冲（容量 2），最旧的一条被丢弃
+		hub.newsInserted(List.of(news(1L, 1L)));
+		hub.newsInserted(List.of(news(2L, 1L)));
+		hub.newsInserted(List.of(news(3L, 1L)));
+		runTasks();
+
+		assertThat(tech.news).extracting(item -> item.get("id")).containsExactly(2L, 3L);
+		assertThat(hub.getStats()).containsEntry("published", 3L).containsEntry("dropped", 1L);
+	}
+
+	@Test
+	void heartbeatReachesIdleSubscribersAndClosedConnectionsAreRemoved() {
+		RecordingEmitter open = subscribe(1L);
+		RecordingEmitter closed = subscribe(null);
+		closed.failing = true;
+
+		hub.heartbeat();
+		runTasks();
+
+		assertThat(open.heartbeats).isEqualTo(1);
+		assertThat(hub.getStats()).containsEntry("subscribers", 1);
+	}
+
+	@Test
+	void rejectsUnknownCategoryAndSubscribersOverTheLimit() {
+		assertThatThrownBy(() -> hub.subscribe("nope")).isInstanceOf(IllegalArgumentException.class);
+
+		subscribe(1L);
+		subscribe(1L);
+		subscribe(2L);
+		assertThatThrownBy(() -> subscribe(2L)).isInstanceOf(IllegalStateException.class);
+		assertThat(hub.getStats()).containsEntry("subscribers", 3);
+	}
+
+	@Test
+	void nothingIsQueuedWithoutSubscribers() {
+		hub.newsInserted(List.of(news(1L, 1L)));
+
+		assertThat(tasks).isEmpty();
+	}
+
+	private RecordingEmitter subscribe(Long categoryId) {
+		RecordingEmitter emitter = new RecordingEmitter();
+		hub.subscribe(categoryId, emitter);
+		return emitter;
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private static Map<String, Object> news(long id, long categoryId) {
+		return Map.of("id", id, "title", "新闻" + id, "categoryId", categoryId, "userId", 7L);
+	}
+
+	/**
+	 * 记录发送的事件（新闻数据和心跳次数）
+	 */
+	private static final class RecordingEmitter extends SseEmitter {
+		final List<Map<String, Object>> news = new ArrayList<>();
+		int heartbeats;
+		boolean failing;
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void send(SseEventBuilder builder) throws IOException {
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+			for (DataWithMediaType data : builder.build()) {
+				if (data.getData() instanceof Map) {
+					news.add((Map<String, Object>) data.getData());
+				} else if (String.valueOf(data.getData()).startsWith(":ping")) {
+					heartbeats++;
+				}
+			}
+		}
+	}
+}
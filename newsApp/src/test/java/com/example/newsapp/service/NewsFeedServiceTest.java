@@ -0,0 +1,143 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsFeedServiceTest {
+
+	private static final String NS = "com.example.newsapp.mapper.NewsMapper.";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final NewsFeedService service = new NewsFeedService(sqlSession, new NewsDimensionCache(sqlSession));
+
+	@BeforeEach
+	void setUp() {
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v1");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 1L, "name", "科技", "code", "tech"),
+				Map.of("id", 2L, "name", "体育", "code", "sports")));
+		when(sqlSession.selectList(NS + "selectUserList")).thenReturn(List.of(
+				Map.of("id", 7L, "username", "editor", "nickname", "小编", "avatar", "a.png")));
+	}
+
+	@Test
+	void batchReturnsEnrichedNewsKeyedByIdInRequestOrder() {
+		when(sqlSession.selectMap(eq(NS + "selectNewsByIds"), any(), eq("id"))).thenReturn(Map.of(
+				1L, news(1L, 1L), 3L, news(3L, 2L)));
+
+		Map<Long, Map<String, Object>> result = service.batch(List.of(3L, 2L, 1L, 3L));
+
+		assertThat(result.keySet()).containsExactly(3L, 1L);
+		assertThat(result.get(3L)).containsEntry("categoryCode", "sports").containsEntry("author", "小编");
+		ArgumentCaptor<Map<String, Object>> params = paramsCaptor();
+		verify(sqlSession).selectMap(eq(NS + "selectNewsByIds"), params.capture(), eq("id"));
+		assertThat(params.getValue().get("ids")).isEqualTo(List.of(3L, 2L, 1L));
+	}
+
+	@Test
+	void batchRejectsTooManyIdsAndSkipsTheQueryForNone() {
+		List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+		assertThatThrownBy(() -> service.batch(ids)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(service.batch(new ArrayList<>())).isEmpty();
+		verify(sqlSession, never()).selectMap(anyString(), any(), anyString());
+	}
+
+	@Test
+	void homeGroupsTheSnapshotByCategoryWithExactHasMore() {
+		when(sqlSession.selectList(eq(NS + "selectHomeSnapshot"), any())).thenReturn(List.of(
+				news(3L, 1L, 3), news(2L, 1L, 2), news(1L, 1L, 1), news(5L, 2L, 5)));
+
+		Map<String, Map<String, Object>> home = service.home(2);
+
+		assertThat(home.keySet()).containsExactly("tech", "sports");
+		assertThat(ids(home.get("tech"))).containsExactly(3L, 2L);
+		assertThat(home.get("tech")).containsEntry("hasMore", true);
+		assertThat(home.get("tech").get("nextCursor")).isNotNull();
+		assertThat(ids(home.get("sports"))).containsExactly(5L);
+		assertThat(home.get("sports")).containsEntry("hasMore", false).containsEntry("nextCursor", null);
+
+		ArgumentCaptor<Map<String, Object>> params = paramsCaptor();
+		verify(sqlSession).selectList(eq(NS + "selectHomeSnapshot"), params.capture());
+		assertThat(params.getValue()).containsEntry("categoryIds", List.of(1L, 2L)).containsEntry("limit", 3);
+	}
+
+	@Test
+	void listFetchesOneExtraRowAndContinuesFromTheCursor() {
+		when(sqlSession.selectList(eq(NS + "selectNewsSummaryList"), any())).thenReturn(List.of(
+				news(3L, 1L, 3), news(2L, 1L, 2), news(1L, 1L, 1)));
+
+		Map<String, Object> first = service.list("tech", 0, null, 2);
+
+		assertThat(ids(first)).containsExactly(3L, 2L);
+		assertThat(first).containsEntry("hasMore", true);
+
+		service.list("tech", 40, (String) first.get("nextCursor"), 2);
+		ArgumentCaptor<Map<String, Object>> params = paramsCaptor();
+		verify(sqlSession, times(2)).selectList(eq(NS + "selectNewsSummaryList"), params.capture());
+		assertThat(params.getAllValues().get(0)).containsEntry("categoryId", 1L).containsEntry("offset", 0)
+				.containsEntry("limit", 3);
+		// 有游标时从上一页最后一条 (publish_time, id) 之后继续，忽略 offset
+		assertThat(params.getAllValues().get(1)).containsEntry("cursorTime", LocalDateTime.of(2024, 1, 1, 2, 0))
+				.containsEntry("cursorId", 2L).doesNotContainKey("offset");
+	}
+
+	@Test
+	void listLastPageHasNoCursorAndUnknownCategoryIsEmpty() {
+		when(sqlSession.selectList(eq(NS + "selectNewsSummaryList"), any())).thenReturn(List.of(news(1L, 1L, 1)));
+
+		Map<String, Object> last = service.list(null, null, null, 2);
+		Map<String, Object> unknown = service.list("nope", null, null, 2);
+
+		assertThat(last).containsEntry("hasMore", false).containsEntry("nextCursor", null);
+		assertThat(unknown.get("items")).isEqualTo(List.of());
+		verify(sqlSession, times(1)).selectList(eq(NS + "selectNewsSummaryList"), any());
+	}
+
+	@Test
+	void listRejectsBrokenCursorAndNegativeOffset() {
+		assertThatThrownBy(() -> service.list(null, null, "not-a-cursor", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.list(null, -1, null, 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static Map<String, Object> news(long id, long categoryId, int hour) {
+		return Map.of("id", id, "title", "新闻" + id, "categoryId", categoryId, "userId", 7L,
+				"publishTime", LocalDateTime.of(2024, 1, 1, hour, 0));
+	}
+
+	@SuppressWarnings("unchecked")
+	static List<Object> ids(Map<String, Object> page) {
+		return ((List<Map<String, Object>>) page.get("items")).stream().map(item -> item.get("id")).toList();
+	}
+
+	static Map<String, Object> news(long id, long categoryId) {
+		return Map.of("id", id, "title", "新闻" + id, "categoryId", categoryId, "userId", 7L);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ArgumentCaptor<Map<String, Object>> paramsCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(Map.class);
+	}
+}
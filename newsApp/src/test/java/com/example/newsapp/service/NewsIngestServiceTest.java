@@ -0,0 +1,135 @@
+package com.example.newsapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsIngestServiceTest {
+
+	private static final String NS = "com.example.newsapp.mapper.NewsMapper.";
+	private static final String BATCH_INSERT = NS + "batchInsertNews";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final NewsIngestService service = new NewsIngestService(sqlSession, new NewsDimensionCache(sqlSession),
+			new ObjectMapper(), transactionManager, 2);
+
+	/** 每次 batchInsertNews 写入的新闻（复制一份，调用方之后会清空列表） */
+	private final List<List<Map<String, Object>>> chunks = new ArrayList<>();
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v1");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 1L, "name", "科技", "code", "tech")));
+		when(sqlSession.selectList(NS + "selectUserList")).thenReturn(List.of(
+				Map.of("id", 7L, "username", "editor", "nickname", "小编", "avatar", "a.png")));
+		AtomicLong ids = new AtomicLong(100);
+		when(sqlSession.insert(eq(BATCH_INSERT), any())).thenAnswer(invocation -> {
+			List<Map<String, Object>> chunk = invocation.getArgument(1);
+			chunk.forEach(news -> news.put("id", ids.incrementAndGet()));
+			chunks.add(new ArrayList<>(chunk));
+			return chunk.size();
+		});
+	}
+
+	@Test
+	void insertsValidItemsInChunksAndReportsEachItem() throws Exception {
+		Map<String, Object> report = ingest("["
+				+ news("A") + ","
+				+ "{\"title\":\"\",\"categoryId\":1,\"userId\":7},"
+				+ news("B") + ","
+				+ "{\"title\":\"C\",\"category\":\"tech\",\"userId\":7,\"mediaType\":\"video\","
+				+ "\"videoUrl\":\"v.mp4\",\"videoDuration\":30,\"publishTime\":\"2024-01-01 08:00:00\"}"
+				+ "]");
+
+		assertThat(report).containsEntry("inserted", 3L).containsEntry("rejected", 1L).containsEntry("failed", 0L);
+		assertThat(results(report)).extracting(result -> result.get("status"))
+				.containsExactly("inserted", "rejected", "inserted", "inserted");
+		assertThat(results(report).get(0)).containsEntry("id", 101L);
+		assertThat(results(report).get(1)).containsEntry("error", "标题不能为空");
+
+		// 批大小为 2：A、B 一批，C 一批，每批一个事务
+		assertThat(chunks).hasSize(2);
+		assertThat(chunks.get(1).get(0)).containsEntry("categoryId", 1L).containsEntry("mediaType", "video")
+				.containsEntry("videoDuration", 30).containsEntry("publishTime", LocalDateTime.of(2024, 1, 1, 8, 0));
+		verify(transactionManager, times(2)).commit(any());
+	}
+
+	@Test
+	void rejectsItemsThatFailValidation() throws Exception {
+		String longTitle = "长".repeat(201);
+		Map<String, Object> report = ingest("["
+				+ "{\"title\":\"" + longTitle + "\",\"categoryId\":1,\"userId\":7},"
+				+ "{\"title\":\"A\",\"categoryId\":99,\"userId\":7},"
+				+ "{\"title\":\"A\",\"categoryId\":1,\"userId\":99},"
+				+ "{\"title\":\"A\",\"categoryId\":1,\"userId\":7,\"mediaType\":\"gif\"},"
+				+ "{\"title\":\"A\",\"categoryId\":1,\"userId\":7,\"mediaType\":\"video\"},"
+				+ "{\"title\":\"A\",\"categoryId\":1,\"userId\":7,\"publishTime\":\"yesterday\"},"
+				+ "42"
+				+ "]");
+
+		assertThat(report).containsEntry("inserted", 0L).containsEntry("rejected", 7L);
+		verify(sqlSession, never()).insert(eq(BATCH_INSERT), any());
+	}
+
+	@Test
+	void failedChunkIsRolledBackWithoutLosingEarlierChunks() throws Exception {
+		when(sqlSession.insert(eq(BATCH_INSERT), any()))
+				.thenReturn(2)
+				.thenThrow(new RuntimeException("deadlock"));
+
+		Map<String, Object> report = ingest("[" + news("A") + "," + news("B") + "," + news("C") + "]");
+
+		assertThat(report).containsEntry("inserted", 2L).containsEntry("failed", 1L);
+		verify(transactionManager, times(1)).commit(any());
+		verify(transactionManager, times(1)).rollback(any());
+	}
+
+	@Test
+	void malformedJsonKeepsTheItemsReadBeforeTheError() throws Exception {
+		Map<String, Object> report = ingest("[" + news("A") + ",{\"title\":");
+
+		assertThat(report).containsEntry("inserted", 1L);
+		assertThat(report.get("error")).asString().startsWith("JSON 格式错误");
+	}
+
+	@Test
+	void bodyMustBeAnArray() {
+		assertThatThrownBy(() -> ingest(news("A"))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private Map<String, Object> ingest(String json) throws Exception {
+		return service.ingest(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String news(String title) {
+		return "{\"title\":\"" + title + "\",\"summary\":\"s\",\"categoryId\":1,\"userId\":7}";
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> results(Map<String, Object> report) {
+		return (List<Map<String, Object>>) report.get("results");
+	}
+}
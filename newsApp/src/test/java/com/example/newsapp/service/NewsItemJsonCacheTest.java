@@ -0,0 +1,88 @@
+package com.example.newsapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsItemJsonCacheTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private final NewsItemJsonCache cache = new NewsItemJsonCache(objectMapper, 2, 60);
+
+	@Test
+	void pageIsWrittenExactlyAsJacksonWouldSerializeIt() throws Exception {
+		Map<String, Object> page = page(item(1L, "标题"), item(2L, "标题2"));
+
+		assertThat(objectMapper.readTree(write(page)))
+				.isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(page)));
+	}
+
+	@Test
+	void cachedBytesAreReusedUntilTheNewsChanges() throws Exception {
+		write(page(item(1L, "旧标题")));
+
+		// 没有修改通知时使用缓存的字节
+		assertThat(write(page(item(1L, "新标题")))).contains("旧标题");
+		assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+
+		cache.newsChanged(1L);
+		assertThat(write(page(item(1L, "新标题")))).contains("新标题");
+	}
+
+	@Test
+	void itemsReadBeforeAnInvalidationAreNotCached() throws Exception {
+		long epoch = cache.epoch();
+		cache.newsChanged(1L);
+
+		cache.itemBytes(item(1L, "旧标题"), epoch);
+
+		assertThat(cache.getStats()).containsEntry("size", 0);
+	}
+
+	@Test
+	void leastRecentlyUsedItemIsEvictedAndClearRemovesEverything() throws Exception {
+		write(page(item(1L, "A"), item(2L, "B")));
+		write(page(item(1L, "A"), item(3L, "C")));
+
+		assertThat(cache.getStats()).containsEntry("size", 2);
+		write(page(item(2L, "B2")));
+		assertThat(cache.getStats()).containsEntry("misses", 4L);
+
+		cache.clear();
+		assertThat(cache.getStats()).containsEntry("size", 0);
+	}
+
+	private String write(Map<String, Object> page) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		cache.writePage(page, cache.epoch(), out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@SafeVarargs
+	private static Map<String, Object> page(Map<String, Object>... items) {
+		Map<String, Object> page = new LinkedHashMap<>();
+		page.put("items", List.of(items));
+		page.put("hasMore", false);
+		page.put("nextCursor", null);
+		page.put("serverTimeMs", 1L);
+		return page;
+	}
+
+	private static Map<String, Object> item(long id, String title) {
+		Map<String, Object> item = new LinkedHashMap<>();
+		item.put("id", id);
+		item.put("title", title);
+		item.put("publishTime", LocalDateTime.of(2024, 1, 1, 8, 0));
+		item.put("categoryCode", "tech");
+		return item;
+	}
+}
@@ -0,0 +1,151 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsSearchServiceTest {
+
+	private static final String SEARCH = "com.example.newsapp.mapper.NewsMapper.searchNewsIds";
+	private static final String BY_IDS = "com.example.newsapp.mapper.NewsMapper.selectNewsByIds";
+
+	private static final String NS = "com.example.newsapp.mapper.NewsMapper.";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final NewsSearchService service = new NewsSearchService(sqlSession, new NewsDimensionCache(sqlSession));
+
+	@BeforeEach
+	void setUp() {
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v1");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 1L, "name", "科技", "code", "tech")));
+		when(sqlSession.selectList(NS + "selectUserList")).thenReturn(List.of(
+				Map.of("id", 7L, "username", "editor", "nickname", "小编", "avatar", "a.png")));
+	}
+
+	@Test
+	void returnsNewsInRankOrderWithCursorForTheNextPage() {
+		when(sqlSession.selectList(eq(SEARCH), any())).thenReturn(List.of(
+				hit(3L, 2.5), hit(1L, 1.25), hit(2L, 0.5)));
+		when(sqlSession.selectMap(eq(BY_IDS), any(), eq("id"))).thenReturn(Map.of(
+				1L, news(1L), 2L, news(2L), 3L, news(3L)));
+
+		Map<String, Object> page = service.search("人工智能", "tech", null, 2);
+
+		assertThat(ids(page)).containsExactly(3L, 1L);
+		assertThat(page.get("hasMore")).isEqualTo(true);
+		assertThat(page.get("nextCursor")).isNotNull();
+
+		// 第二页沿用第一页的 rankTime，从最后一条的 (rank_score, id) 之后继续
+		service.search("人工智能", "tech", (String) page.get("nextCursor"), 2);
+		ArgumentCaptor<Map<String, Object>> params = paramsCaptor();
+		verify(sqlSession, org.mockito.Mockito.times(2)).selectList(eq(SEARCH), params.capture());
+		Map<String, Object> first = params.getAllValues().get(0);
+		Map<String, Object> second = params.getAllValues().get(1);
+		assertThat(first.get("limit")).isEqualTo(3);
+		assertThat(second.get("rankTime")).isEqualTo(first.get("rankTime"));
+		assertThat(second.get("cursorScore")).isEqualTo(1.25);
+		assertThat(second.get("cursorId")).isEqualTo(1L);
+		assertThat(second.get("categoryId")).isEqualTo(1L);
+	}
+
+	@Test
+	void lastPageHasNoCursorAndSkipsDeletedNews() {
+		when(sqlSession.selectList(eq(SEARCH), any())).thenReturn(List.of(hit(5L, 1.0), hit(4L, 0.5)));
+		when(sqlSession.selectMap(eq(BY_IDS), any(), eq("id"))).thenReturn(Map.of(5L, news(5L)));
+
+		Map<String, Object> page = service.search("环保", null, null, 10);
+
+		assertThat(ids(page)).containsExactly(5L);
+		assertThat(page.get("hasMore")).isEqualTo(false);
+		assertThat(page.get("nextCursor")).isNull();
+	}
+
+	@Test
+	void itemsCarryCategoryAndAuthorFromTheDimensionCache() {
+		when(sqlSession.selectList(eq(SEARCH), any())).thenReturn(List.of(hit(1L, 1.0)));
+		when(sqlSession.selectMap(eq(BY_IDS), any(), eq("id"))).thenReturn(Map.of(1L, news(1L)));
+
+		Map<String, Object> item = items(service.search("人工智能", null, null, 10)).get(0);
+
+		assertThat(item).containsEntry("title", "新闻1")
+				.containsEntry("categoryCode", "tech")
+				.containsEntry("categoryName", "科技")
+				.containsEntry("author", "小编")
+				.containsEntry("authorAvatar", "a.png");
+	}
+
+	@Test
+	void noHitsDoesNotQueryNews() {
+		when(sqlSession.selectList(eq(SEARCH), any())).thenReturn(List.of());
+
+		Map<String, Object> page = service.search("不存在", null, null, null);
+
+		assertThat(page.get("items")).isEqualTo(List.of());
+		verify(sqlSession, never()).selectMap(anyString(), any(), anyString());
+	}
+
+	@Test
+	void unknownCategoryReturnsAnEmptyPageWithoutSearching() {
+		Map<String, Object> page = service.search("体育", "nope", null, null);
+
+		assertThat(page.get("items")).isEqualTo(List.of());
+		assertThat(page.get("hasMore")).isEqualTo(false);
+		verify(sqlSession, never()).selectList(eq(SEARCH), any());
+	}
+
+	@Test
+	void limitIsCapped() {
+		when(sqlSession.selectList(eq(SEARCH), any())).thenReturn(List.of());
+
+		service.search("体育", null, null, 1000);
+
+		ArgumentCaptor<Map<String, Object>> params = paramsCaptor();
+		verify(sqlSession).selectList(eq(SEARCH), params.capture());
+		assertThat(params.getValue().get("limit")).isEqualTo(NewsSearchService.MAX_LIMIT + 1);
+	}
+
+	@Test
+	void rejectsBlankKeywordAndBrokenCursor() {
+		assertThatThrownBy(() -> service.search(" ", null, null, null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.search("体育", null, "not-a-cursor", null))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Map<String, Object> news(long id) {
+		return Map.of("id", id, "title", "新闻" + id, "categoryId", 1L, "userId", 7L);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> items(Map<String, Object> page) {
+		return (List<Map<String, Object>>) page.get("items");
+	}
+
+	private static List<Object> ids(Map<String, Object> page) {
+		return items(page).stream().map(item -> item.get("id")).toList();
+	}
+
+	private static Map<String, Object> hit(long id, double score) {
+		return Map.of("id", id, "rank_score", score);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ArgumentCaptor<Map<String, Object>> paramsCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(Map.class);
+	}
+}
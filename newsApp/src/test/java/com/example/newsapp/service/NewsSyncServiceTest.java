@@ -0,0 +1,107 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsSyncServiceTest {
+
+	private static final String NS = "com.example.newsapp.mapper.NewsMapper.";
+	private static final String CHANGED = NS + "selectNewsChangedSince";
+	private static final String DELETED = NS + "selectNewsDeletedSince";
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final NewsSyncService service = new NewsSyncService(sqlSession, new NewsDimensionCache(sqlSession));
+
+	@BeforeEach
+	void setUp() {
+		when(sqlSession.selectOne(NS + "selectDimensionVersion")).thenReturn("v1");
+		when(sqlSession.selectList(NS + "selectCategoryList")).thenReturn(List.of(
+				Map.of("id", 1L, "name", "科技", "code", "tech")));
+		when(sqlSession.selectList(NS + "selectUserList")).thenReturn(List.of());
+	}
+
+	@Test
+	void withoutSyncPointTheClientResetsAndGetsAStartingCursor() {
+		Map<String, Object> result = service.changes("tech", null, null);
+
+		assertThat(result).containsEntry("reset", true).containsEntry("upserts", List.of());
+		assertThat(result.get("nextCursor")).isNotNull();
+		verify(sqlSession, never()).selectList(eq(CHANGED), any());
+	}
+
+	@Test
+	void pagesUpsertsAndReturnsDeletionsOnTheFirstPageOnly() {
+		String start = (String) service.changes("tech", null, null).get("nextCursor");
+		when(sqlSession.selectList(eq(DELETED), any())).thenReturn(List.of(9L));
+		when(sqlSession.selectList(eq(CHANGED), any())).thenReturn(List.of(
+				change(4L, 10), change(5L, 11), change(6L, 12)));
+
+		Map<String, Object> first = service.changes("tech", start, 2);
+
+		assertThat(first).containsEntry("reset", false).containsEntry("hasMore", true)
+				.containsEntry("deletedIds", List.of(9L));
+		assertThat(ids(first)).containsExactly(4L, 5L);
+
+		when(sqlSession.selectList(eq(CHANGED), any())).thenReturn(List.of(change(6L, 12)));
+		Map<String, Object> second = service.changes("tech", (String) first.get("nextCursor"), 2);
+
+		assertThat(second).containsEntry("hasMore", false).containsEntry("deletedIds", List.of());
+		verify(sqlSession, times(1)).selectList(eq(DELETED), any());
+
+		ArgumentCaptor<Map<String, Object>> params = paramsCaptor();
+		verify(sqlSession, times(2)).selectList(eq(CHANGED), params.capture());
+		Map<String, Object> firstParams = params.getAllValues().get(0);
+		Map<String, Object> secondParams = params.getAllValues().get(1);
+		assertThat(firstParams).containsEntry("categoryId", 1L).containsEntry("limit", 3)
+				.doesNotContainKey("sinceId");
+		// 第二页沿用第一页的截止时间，从最后一条 (update_time, id) 之后继续
+		assertThat(secondParams.get("untilTime")).isEqualTo(firstParams.get("untilTime"));
+		assertThat(secondParams).containsEntry("sinceTime", LocalDateTime.of(2024, 1, 1, 11, 0))
+				.containsEntry("sinceId", 5L);
+
+		// 最后一页的游标开始下一次同步：再次返回截止时间之后的删除
+		service.changes("tech", (String) second.get("nextCursor"), 2);
+		verify(sqlSession, times(2)).selectList(eq(DELETED), any());
+	}
+
+	@Test
+	void rejectsBrokenCursorAndUnknownCategory() {
+		assertThatThrownBy(() -> service.changes(null, "not-a-cursor", null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.changes("nope", null, null))
+				.isInstanceOf(IllegalArgumentException.class);
+		verify(sqlSession, never()).selectList(anyString(), any());
+	}
+
+	private static Map<String, Object> change(long id, int hour) {
+		return Map.of("id", id, "title", "新闻" + id, "categoryId", 1L, "userId", 7L,
+				"updateTime", LocalDateTime.of(2024, 1, 1, hour, 0));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> ids(Map<String, Object> result) {
+		return ((List<Map<String, Object>>) result.get("upserts")).stream().map(item -> item.get("id")).toList();
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ArgumentCaptor<Map<String, Object>> paramsCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(Map.class);
+	}
+}
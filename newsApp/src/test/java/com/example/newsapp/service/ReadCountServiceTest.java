@@ -0,0 +1,171 @@
+package com.example.newsapp.service;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadCountServiceTest {
+
+	private static final String INCREMENT = "com.example.newsapp.mapper.NewsMapper.incrementReadCounts";
+	private static final String SELECT = "com.example.newsapp.mapper.NewsMapper.selectReadCount";
+	private static final long MISSING_ID = 1_000_000L;
+
+	private final SqlSession sqlSession = mock(SqlSession.class);
+	private final ReadCountService service = new ReadCountService(sqlSession, 100, 60_000);
+
+	@BeforeEach
+	void setUp() {
+		when(sqlSession.selectOne(eq(SELECT), any())).thenReturn(0);
+		when(sqlSession.selectOne(SELECT, MISSING_ID)).thenReturn(null);
+	}
+
+	@Test
+	void viewsAreFlushedAsOneBatchedUpdate() {
+		service.recordView(1L);
+		service.recordView(1L);
+		service.recordView(1L);
+		service.recordView(2L);
+
+		service.flush();
+
+		ArgumentCaptor<Object> parameter = ArgumentCaptor.forClass(Object.class);
+		verify(sqlSession, times(1)).update(eq(INCREMENT), parameter.capture());
+		assertThat(parameter.getValue()).isEqualTo(Map.of("deltas", Map.of(1L, 3L, 2L, 1L)));
+	}
+
+	@Test
+	void emptyFlushDoesNotTouchTheDatabase() {
+		service.flush();
+
+		verify(sqlSession, never()).update(anyString(), any());
+	}
+
+	@Test
+	void readCountMergesUnflushedViews() {
+		when(sqlSession.selectOne(SELECT, 1L)).thenReturn(10);
+
+		service.recordView(1L);
+		service.recordView(1L);
+
+		assertThat(service.getReadCount(1L)).isEqualTo(12L);
+	}
+
+	@Test
+	void readCountIsNullForMissingNews() {
+		service.recordView(MISSING_ID);
+
+		assertThat(service.getReadCount(MISSING_ID)).isNull();
+	}
+
+	@Test
+	void viewsOfMissingNewsAreNotCounted() {
+		assertThat(service.recordView(MISSING_ID)).isNull();
+		assertThat(service.recordView(MISSING_ID)).isNull();
+
+		service.flush();
+
+		verify(sqlSession, never()).update(anyString(), any());
+		// 不存在也缓存，重复浏览不再查询数据库
+		verify(sqlSession, times(1)).selectOne(SELECT, MISSING_ID);
+	}
+
+	@Test
+	void viewsOfACachedNewsDoNotQueryTheDatabase() {
+		when(sqlSession.selectOne(SELECT, 1L)).thenReturn(10);
+
+		assertThat(service.recordView(1L)).isEqualTo(11L);
+		assertThat(service.recordView(1L)).isEqualTo(12L);
+		assertThat(service.getReadCount(1L)).isEqualTo(12L);
+
+		verify(sqlSession, times(1)).selectOne(SELECT, 1L);
+	}
+
+	@Test
+	void flushedDeltasAreAddedToTheCachedBase() {
+		when(sqlSession.selectOne(SELECT, 1L)).thenReturn(10);
+		service.recordView(1L);
+		service.recordView(1L);
+
+		service.flush();
+
+		assertThat(service.getReadCount(1L)).isEqualTo(12L);
+		verify(sqlSession, times(1)).selectOne(SELECT, 1L);
+	}
+
+	@Test
+	void changedNewsIsReloadedFromTheDatabase() {
+		when(sqlSession.selectOne(SELECT, 1L)).thenReturn(10);
+		service.getReadCount(1L);
+
+		when(sqlSession.selectOne(SELECT, 1L)).thenReturn(50);
+		service.newsChanged(1L);
+
+		assertThat(service.getReadCount(1L)).isEqualTo(50L);
+	}
+
+	@Test
+	void readsDuringTheDatabaseWriteIncludeTheDeltaWithoutWaiting() throws Exception {
+		when(sqlSession.selectOne(SELECT, 1L)).thenReturn(10);
+		CountDownLatch writeStarted = new CountDownLatch(1);
+		CountDownLatch releaseWrite = new CountDownLatch(1);
+		when(sqlSession.update(eq(INCREMENT), any())).thenAnswer(invocation -> {
+			writeStarted.countDown();
+			releaseWrite.await(5, TimeUnit.SECONDS);
+			return 1;
+		});
+		service.recordView(1L);
+
+		CompletableFuture<Void> flush = CompletableFuture.runAsync(service::flush);
+		assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(service.recordView(1L)).isEqualTo(12L);
+
+		releaseWrite.countDown();
+		flush.get(5, TimeUnit.SECONDS);
+		assertThat(service.getReadCount(1L)).isEqualTo(12L);
+	}
+
+	@Test
+	void failedFlushKeepsTheDeltasForTheNextFlush() {
+		when(sqlSession.update(eq(INCREMENT), any())).thenThrow(new RuntimeException("db down")).thenReturn(1);
+		service.recordView(1L);
+
+		service.flush();
+		service.flush();
+
+		ArgumentCaptor<Object> parameter = ArgumentCaptor.forClass(Object.class);
+		verify(sqlSession, times(2)).update(eq(INCREMENT), parameter.capture());
+		assertThat(parameter.getAllValues().get(1)).isEqualTo(Map.of("deltas", Map.of(1L, 1L)));
+	}
+
+	@Test
+	void largeFlushIsSplitIntoBatches() {
+		for (long id = 1; id <= ReadCountService.FLUSH_BATCH_SIZE + 1; id++) {
+			service.recordView(id);
+		}
+
+		service.flush();
+
+		ArgumentCaptor<Object> parameter = ArgumentCaptor.forClass(Object.class);
+		verify(sqlSession, times(2)).update(eq(INCREMENT), parameter.capture());
+		List<Object> batches = parameter.getAllValues();
+		assertThat(((Map<?, ?>) ((Map<?, ?>) batches.get(0)).get("deltas"))).hasSize(ReadCountService.FLUSH_BATCH_SIZE);
+		assertThat(((Map<?, ?>) ((Map<?, ?>) batches.get(1)).get("deltas"))).hasSize(1);
+	}
+}